@@ -0,0 +1,36 @@
+package com.sme.finance.core.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmark suites with the GC profiler and writes the results as JSON.
+ * <p>
+ * Usage: {@code java -jar benchmarks.jar [include-regex...]}; the result file defaults to {@code jmh-result.json}
+ * and can be changed with the {@code jmh.result} system property.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        final ChainedOptionsBuilder options = new OptionsBuilder()
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(System.getProperty("jmh.result", "jmh-result.json"));
+
+        if (args.length == 0) {
+            options.include("com\\.sme\\.finance\\.core\\.benchmark\\..*");
+        }
+        for (String include : args) {
+            options.include(include);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,62 @@
+package com.sme.finance.core.benchmark.error;
+
+import com.sme.finance.core.error.exception.AbstractAlertException;
+import com.sme.finance.core.error.exception.BadRequestAlertException;
+import com.sme.finance.core.error.exception.NotFoundAlertException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of throwing alert exceptions with and without the lightweight mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlertExceptionBenchmark {
+
+    @Param({"false", "true"})
+    public boolean lightweight;
+
+    @Setup
+    public void setUp() {
+        AbstractAlertException.setLightweight(lightweight);
+    }
+
+    @TearDown
+    public void tearDown() {
+        AbstractAlertException.setLightweight(false);
+    }
+
+    @Benchmark
+    public Object throwBadRequest() {
+        try {
+            throw new BadRequestAlertException("Invalid amount");
+        } catch (BadRequestAlertException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object throwNotFound() {
+        try {
+            throw new NotFoundAlertException("Account", 42L);
+        } catch (NotFoundAlertException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.sme.finance.core.benchmark.error;
+
+import com.sme.finance.core.error.ExceptionTranslator;
+import com.sme.finance.core.error.exception.BadRequestAlertException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.zalando.problem.Problem;
+import org.zalando.problem.ProblemBuilder;
+import org.zalando.problem.Status;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error path of {@link ExceptionTranslator}: problem preparation, post-processing and complete handlers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionTranslatorBenchmark {
+
+    @Param({"dev", "prod"})
+    public String profile;
+
+    private ExceptionTranslator translator;
+    private NativeWebRequest request;
+    private ResponseEntity<Problem> entity;
+
+    private final IllegalStateException exception = new IllegalStateException("Account limit exceeded for the current period");
+    private final ConcurrencyFailureException concurrencyFailure = new ConcurrencyFailureException("Row was updated by another transaction");
+
+    @Setup
+    public void setUp() {
+        final StandardEnvironment environment = new StandardEnvironment();
+        environment.setActiveProfiles(profile);
+        translator = new ExceptionTranslator(environment);
+
+        final MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/accounts/42");
+        servletRequest.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        request = new ServletWebRequest(servletRequest);
+
+        entity = new ResponseEntity<>(
+            Problem.builder().withStatus(Status.BAD_REQUEST).withDetail("Invalid amount").build(),
+            HttpStatus.BAD_REQUEST
+        );
+    }
+
+    @Benchmark
+    public ProblemBuilder prepare() {
+        return translator.prepare(exception, Status.BAD_REQUEST, Problem.DEFAULT_TYPE);
+    }
+
+    @Benchmark
+    public ResponseEntity<Problem> process() {
+        return translator.process(entity, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<Problem> handleConcurrencyFailure() {
+        return translator.handleConcurrencyFailure(concurrencyFailure, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<Problem> handleBadRequestAlert() {
+        return translator.handleProblem(new BadRequestAlertException("Invalid amount"), request);
+    }
+}
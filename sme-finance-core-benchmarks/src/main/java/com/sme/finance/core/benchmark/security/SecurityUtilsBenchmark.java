@@ -0,0 +1,84 @@
+package com.sme.finance.core.benchmark.security;
+
+import com.sme.finance.core.security.AuthoritiesConstants;
+import com.sme.finance.core.security.AuthoritySet;
+import com.sme.finance.core.security.SecurityUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authority checks of {@link SecurityUtils} against a JWT authentication, with and without the per-authentication cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityUtilsBenchmark {
+
+    private static final AuthoritySet PRIVILEGED = AuthoritySet.of(AuthoritiesConstants.ADMIN, "ROLE_SUPPORT");
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Jwt jwt = Jwt.withTokenValue("token")
+            .header("alg", "RS256")
+            .claim("preferred_username", "benchmark")
+            .claim("roles", List.of(AuthoritiesConstants.USER, "ROLE_ACCOUNTANT", "ROLE_APPROVER", "ROLE_SUPPORT"))
+            .issuedAt(Instant.now())
+            .expiresAt(Instant.now().plusSeconds(3600))
+            .build();
+
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityUtils.clearCachedAuthorities();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public boolean hasAnyOfAuthorities() {
+        return SecurityUtils.hasCurrentUserAnyOfAuthorities(AuthoritiesConstants.ADMIN, "ROLE_SUPPORT");
+    }
+
+    @Benchmark
+    public boolean hasAnyOfAuthoritiesUncached() {
+        SecurityUtils.clearCachedAuthorities();
+        return SecurityUtils.hasCurrentUserAnyOfAuthorities(AuthoritiesConstants.ADMIN, "ROLE_SUPPORT");
+    }
+
+    @Benchmark
+    public boolean hasAnyOfAuthoritySet() {
+        return SecurityUtils.hasCurrentUserAnyOf(PRIVILEGED);
+    }
+
+    @Benchmark
+    public boolean isAuthenticated() {
+        return SecurityUtils.isAuthenticated();
+    }
+
+    @Benchmark
+    public Optional<String> getCurrentUserLogin() {
+        return SecurityUtils.getCurrentUserLogin();
+    }
+}
@@ -0,0 +1,126 @@
+package com.sme.finance.core.benchmark.security;
+
+import com.sme.finance.core.security.oauth2.OAuthIdpTokenResponseDTO;
+import com.sme.finance.core.security.oauth2.TokenEndpointRestTemplates;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.converter.FormHttpMessageConverter;
+import org.springframework.security.oauth2.client.http.OAuth2ErrorResponseErrorHandler;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.security.oauth2.core.http.converter.OAuth2AccessTokenResponseHttpMessageConverter;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connections opened to a local stub token endpoint per 1,000 refresh token calls, through the pooled
+ * {@link TokenEndpointRestTemplates} and through a {@link RestTemplate} built per call as before.
+ * <p>
+ * The {@code connections} counter reports the TCP connections accepted by the stub per refresh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TokenEndpointConnectionsBenchmark {
+
+    private static final int REFRESHES = 1000;
+
+    @Param({"pooled", "per-call"})
+    public String client;
+
+    private StubTokenEndpoint endpoint;
+    private TokenEndpointRestTemplates restTemplates;
+    private ClientRegistration registration;
+    private RequestEntity<MultiValueMap<String, String>> request;
+
+    /**
+     * Connections accepted by the stub, reported per operation.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Connections {
+
+        public long connections;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        endpoint = new StubTokenEndpoint();
+        restTemplates = new TokenEndpointRestTemplates(
+            new RestTemplateBuilder(), Duration.ofSeconds(5), Duration.ofSeconds(10), Duration.ofSeconds(5), Duration.ofSeconds(30), 50, 20
+        );
+
+        registration = ClientRegistration.withRegistrationId("benchmark")
+            .clientId("benchmark-client")
+            .clientSecret("benchmark-secret")
+            .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+            .tokenUri(endpoint.tokenUri().toString())
+            .build();
+
+        final MultiValueMap<String, String> formParameters = new LinkedMultiValueMap<>();
+        formParameters.add(OAuth2ParameterNames.GRANT_TYPE, AuthorizationGrantType.REFRESH_TOKEN.getValue());
+        formParameters.add(OAuth2ParameterNames.REFRESH_TOKEN, "refresh-token");
+        formParameters.add(OAuth2ParameterNames.CLIENT_ID, registration.getClientId());
+
+        request = RequestEntity.post(endpoint.tokenUri()).contentType(MediaType.APPLICATION_FORM_URLENCODED).body(formParameters);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        restTemplates.destroy();
+        endpoint.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REFRESHES)
+    public long refresh(Connections connections) {
+        final long before = endpoint.connections();
+        long tokens = 0;
+
+        for (int i = 0; i < REFRESHES; i++) {
+            final OAuthIdpTokenResponseDTO response = restTemplate().exchange(request, OAuthIdpTokenResponseDTO.class).getBody();
+            tokens += response != null && response.getAccessToken() != null ? 1 : 0;
+        }
+
+        connections.connections += endpoint.connections() - before;
+        return tokens;
+    }
+
+    private RestTemplate restTemplate() {
+        if ("pooled".equals(client)) {
+            return restTemplates.forRegistration(registration);
+        }
+
+        // The previous behavior: a template, and thereby an HTTP client, built for every call
+        return new RestTemplateBuilder()
+            .additionalMessageConverters(new FormHttpMessageConverter(), new OAuth2AccessTokenResponseHttpMessageConverter())
+            .errorHandler(new OAuth2ErrorResponseErrorHandler())
+            .basicAuthentication(registration.getClientId(), registration.getClientSecret())
+            .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.sme.finance.core.benchmark.validation;
+
+import com.sme.finance.core.validation.CurrencyCodeConstraintValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation of valid and invalid ISO 4217 numeric currency codes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CurrencyCodeConstraintValidatorBenchmark {
+
+    private final CurrencyCodeConstraintValidator validator = new CurrencyCodeConstraintValidator();
+
+    private String validCode = "840";
+    private String invalidCode = "USD";
+
+    @Benchmark
+    public boolean valid() {
+        return validator.isValid(validCode, null);
+    }
+
+    @Benchmark
+    public boolean invalid() {
+        return validator.isValid(invalidCode, null);
+    }
+}
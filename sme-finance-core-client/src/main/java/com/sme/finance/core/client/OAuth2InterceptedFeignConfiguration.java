@@ -1,13 +1,116 @@
 package com.sme.finance.core.client;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sme.finance.core.client.bulkhead.AdaptiveConcurrencyLimiter;
+import com.sme.finance.core.client.bulkhead.BulkheadCapability;
+import com.sme.finance.core.client.cache.ResponseCacheCapability;
+import com.sme.finance.core.client.collapse.RequestCollapsingCapability;
+import com.sme.finance.core.client.compression.CompressionCapability;
+import com.sme.finance.core.client.hedge.HedgingCapability;
+import com.sme.finance.core.client.metrics.FeignMetricsCapability;
+import com.sme.finance.core.client.stream.StreamingCapability;
+import com.sme.finance.core.security.metrics.SecurityMetrics;
 import com.sme.finance.core.security.oauth2.AuthorizationHeaderUtil;
+import feign.Capability;
 import feign.RequestInterceptor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 
+import java.time.Duration;
+
 public class OAuth2InterceptedFeignConfiguration {
 
     @Bean(name = "oauth2RequestInterceptor")
-    public RequestInterceptor getOAuth2RequestInterceptor(final AuthorizationHeaderUtil authorizationHeaderUtil) {
-        return new TokenRelayRequestInterceptor(authorizationHeaderUtil);
+    public RequestInterceptor getOAuth2RequestInterceptor(
+        final AuthorizationHeaderUtil authorizationHeaderUtil,
+        final SecurityMetrics securityMetrics
+    ) {
+        return new TokenRelayRequestInterceptor(authorizationHeaderUtil, securityMetrics);
+    }
+
+    @Bean(name = "responseCacheCapability")
+    public Capability getResponseCacheCapability(
+        @Value("${sme.client.response-cache.maximum-weight:67108864}") final long maximumWeight,
+        @Value("${sme.client.response-cache.maximum-staleness:PT1H}") final Duration maximumStaleness,
+        @Value("${sme.client.response-cache.maximum-body-size:1048576}") final int maximumBodySize
+    ) {
+        return new ResponseCacheCapability(maximumWeight, maximumStaleness, maximumBodySize);
+    }
+
+    @Bean(name = "requestCollapsingCapability")
+    public Capability getRequestCollapsingCapability() {
+        return new RequestCollapsingCapability();
+    }
+
+    @Bean(name = "bulkheadCapability")
+    @ConditionalOnProperty(prefix = "sme.client.bulkhead", name = "enabled", havingValue = "true")
+    public Capability getBulkheadCapability(
+        @Value("${feign.client.name}") final String clientName,
+        @Value("${sme.client.bulkhead.initial-limit:20}") final int initialLimit,
+        @Value("${sme.client.bulkhead.min-limit:2}") final int minLimit,
+        @Value("${sme.client.bulkhead.max-limit:200}") final int maxLimit,
+        @Value("${sme.client.bulkhead.latency-threshold:PT1S}") final Duration latencyThreshold,
+        @Value("${sme.client.bulkhead.backoff-ratio:0.9}") final double backoffRatio
+    ) {
+        return new BulkheadCapability(
+            clientName,
+            new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, latencyThreshold.toNanos(), backoffRatio)
+        );
+    }
+
+    @Bean(name = "hedgingCapability")
+    public Capability getHedgingCapability(
+        @Value("${feign.client.name}") final String clientName,
+        @Value("${sme.client.hedge.budget-ratio:0.05}") final double budgetRatio,
+        @Value("${sme.client.hedge.budget-burst:10}") final int budgetBurst,
+        @Value("${sme.client.hedge.max-threads:64}") final int maxThreads,
+        final ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        final HedgingCapability capability = new HedgingCapability(clientName, budgetRatio, budgetBurst, maxThreads);
+
+        meterRegistry.ifAvailable(registry -> {
+            FunctionCounter.builder("sme.client.hedge.fired", capability, HedgingCapability::getFiredCount)
+                .tag("client", clientName)
+                .register(registry);
+            FunctionCounter.builder("sme.client.hedge.won", capability, HedgingCapability::getWonCount)
+                .tag("client", clientName)
+                .register(registry);
+        });
+
+        return capability;
+    }
+
+    @Bean(name = "compressionCapability")
+    @ConditionalOnProperty(prefix = "sme.client.compression", name = "enabled", havingValue = "true")
+    public Capability getCompressionCapability(
+        @Value("${sme.client.compression.min-request-size:2048}") final int minRequestSize,
+        @Value("${sme.client.compression.gzip-level:6}") final int gzipLevel,
+        @Value("${sme.client.compression.zstd.enabled:true}") final boolean zstdEnabled,
+        @Value("${sme.client.compression.zstd.level:3}") final int zstdLevel
+    ) {
+        return new CompressionCapability(minRequestSize, gzipLevel, zstdEnabled, zstdLevel);
+    }
+
+    @Bean(name = "metricsCapability")
+    @ConditionalOnBean(MeterRegistry.class)
+    @ConditionalOnProperty(prefix = "sme.client.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public Capability getMetricsCapability(
+        @Value("${feign.client.name}") final String clientName,
+        @Value("${sme.client.metrics.percentile-histogram:false}") final boolean percentileHistogram,
+        final MeterRegistry meterRegistry
+    ) {
+        return new FeignMetricsCapability(meterRegistry, clientName, percentileHistogram);
+    }
+
+    // Declared last so that it wraps the other client capabilities and sees the final response body
+    @Bean(name = "streamingCapability")
+    @ConditionalOnProperty(prefix = "sme.client.streaming", name = "enabled", havingValue = "true")
+    public Capability getStreamingCapability(final ObjectProvider<ObjectMapper> objectMapper) {
+        return new StreamingCapability(objectMapper.getIfAvailable(ObjectMapper::new));
     }
 }
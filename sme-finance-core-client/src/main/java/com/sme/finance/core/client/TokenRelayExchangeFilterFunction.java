@@ -0,0 +1,44 @@
+package com.sme.finance.core.client;
+
+import com.sme.finance.core.security.metrics.SecurityMetrics;
+import com.sme.finance.core.security.oauth2.ReactiveAuthorizationHeaderUtil;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import static com.sme.finance.core.client.TokenRelayRequestInterceptor.AUTHORIZATION;
+
+/**
+ * {@link ExchangeFilterFunction} relaying the current user's token to {@code WebClient} requests, the reactive
+ * counterpart of {@link TokenRelayRequestInterceptor}.
+ */
+public class TokenRelayExchangeFilterFunction implements ExchangeFilterFunction {
+
+    private final ReactiveAuthorizationHeaderUtil authorizationHeaderUtil;
+    private final SecurityMetrics metrics;
+
+    public TokenRelayExchangeFilterFunction(final ReactiveAuthorizationHeaderUtil authorizationHeaderUtil) {
+        this(authorizationHeaderUtil, SecurityMetrics.NOOP);
+    }
+
+    public TokenRelayExchangeFilterFunction(final ReactiveAuthorizationHeaderUtil authorizationHeaderUtil, final SecurityMetrics metrics) {
+        this.authorizationHeaderUtil = authorizationHeaderUtil;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(final ClientRequest request, final ExchangeFunction next) {
+        return authorizationHeaderUtil.getAuthorizationHeader()
+            .map(header -> {
+                metrics.relayHeaderBuilt(true);
+                return ClientRequest.from(request).headers(headers -> headers.set(AUTHORIZATION, header)).build();
+            })
+            .switchIfEmpty(Mono.fromSupplier(() -> {
+                metrics.relayHeaderBuilt(false);
+                return request;
+            }))
+            .flatMap(next::exchange);
+    }
+}
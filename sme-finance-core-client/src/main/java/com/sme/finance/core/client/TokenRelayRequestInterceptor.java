@@ -1,23 +1,38 @@
 package com.sme.finance.core.client;
 
+import com.sme.finance.core.client.concurrent.AuthorizationContext;
+import com.sme.finance.core.security.metrics.SecurityMetrics;
 import com.sme.finance.core.security.oauth2.AuthorizationHeaderUtil;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
 
+import java.util.Optional;
+
 public class TokenRelayRequestInterceptor implements RequestInterceptor {
 
     public static final String AUTHORIZATION = "Authorization";
 
     private final AuthorizationHeaderUtil authorizationHeaderUtil;
+    private final SecurityMetrics metrics;
 
     public TokenRelayRequestInterceptor(final AuthorizationHeaderUtil authorizationHeaderUtil) {
+        this(authorizationHeaderUtil, SecurityMetrics.NOOP);
+    }
+
+    public TokenRelayRequestInterceptor(final AuthorizationHeaderUtil authorizationHeaderUtil, final SecurityMetrics metrics) {
         super();
         this.authorizationHeaderUtil = authorizationHeaderUtil;
+        this.metrics = metrics;
     }
 
     @Override
     public void apply(final RequestTemplate template) {
-        authorizationHeaderUtil.getAuthorizationHeader()
-            .ifPresent(header -> template.header(AUTHORIZATION, header));
+        final Optional<AuthorizationContext> context = AuthorizationContext.current();
+        final Optional<String> authorizationHeader = context.isPresent()
+            ? Optional.ofNullable(context.get().authorizationHeader())
+            : authorizationHeaderUtil.getAuthorizationHeader();
+
+        authorizationHeader.ifPresent(header -> template.header(AUTHORIZATION, header));
+        metrics.relayHeaderBuilt(authorizationHeader.isPresent());
     }
 }
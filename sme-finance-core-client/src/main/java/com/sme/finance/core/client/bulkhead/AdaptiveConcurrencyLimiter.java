@@ -0,0 +1,88 @@
+package com.sme.finance.core.client.bulkhead;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free concurrency limiter whose limit follows the observed latency (AIMD).
+ * <p>
+ * A call completing within the latency threshold while the limiter is at least half used raises the limit by
+ * {@code 1 / limit}, about one per limit's worth of calls; a slow or overloaded call multiplies it by the backoff
+ * ratio. The limit stays within the configured bounds.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final LongAdder rejected = new LongAdder();
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos, double backoffRatio) {
+        Assert.isTrue(0 < minLimit && minLimit <= initialLimit && initialLimit <= maxLimit, "Limits should satisfy 0 < min <= initial <= max.");
+        Assert.isTrue(0.0 < backoffRatio && backoffRatio < 1.0, "Backoff ratio should be between 0 and 1.");
+
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(initialLimit));
+    }
+
+    /**
+     * Take a permit if the limit allows.
+     *
+     * @return true if a permit was taken and must be released, false if the limit is reached.
+     */
+    public boolean tryAcquire() {
+        final int limit = getLimit();
+
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release a permit and adapt the limit to the outcome of the call.
+     *
+     * @param latencyNanos the latency of the call.
+     * @param overloaded   whether the call failed in a way signalling an overloaded dependency.
+     */
+    public void release(long latencyNanos, boolean overloaded) {
+        final int current = inFlight.getAndDecrement();
+
+        if (overloaded || latencyNanos > latencyThresholdNanos) {
+            limitBits.updateAndGet(bits -> Double.doubleToLongBits(Math.max(minLimit, Double.longBitsToDouble(bits) * backoffRatio)));
+        } else if (current * 2 >= getLimit()) {
+            limitBits.updateAndGet(bits -> {
+                final double limit = Double.longBitsToDouble(bits);
+                return Double.doubleToLongBits(Math.min(maxLimit, limit + 1.0 / limit));
+            });
+        }
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
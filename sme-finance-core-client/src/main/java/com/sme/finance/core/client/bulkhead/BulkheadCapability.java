@@ -0,0 +1,50 @@
+package com.sme.finance.core.client.bulkhead;
+
+import com.sme.finance.core.error.exception.ServiceUnavailableAlertException;
+import feign.Capability;
+import feign.Client;
+import feign.Response;
+
+/**
+ * Feign {@link Capability} bounding the in-flight calls of a client with an {@link AdaptiveConcurrencyLimiter}.
+ * <p>
+ * Calls over the limit fail fast with a {@link ServiceUnavailableAlertException}, translated to a 503 response.
+ * Calls answered with 429, 503 or 504 count as overloaded and shrink the limit.
+ */
+public class BulkheadCapability implements Capability {
+
+    private final String clientName;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public BulkheadCapability(String clientName, AdaptiveConcurrencyLimiter limiter) {
+        this.clientName = clientName;
+        this.limiter = limiter;
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            if (!limiter.tryAcquire()) {
+                throw new ServiceUnavailableAlertException(String.format("%s is at its concurrency limit of %d", clientName, limiter.getLimit()));
+            }
+
+            final long start = System.nanoTime();
+            boolean overloaded = true;
+            try {
+                final Response response = client.execute(request, options);
+                overloaded = isOverloaded(response.status());
+                return response;
+            } finally {
+                limiter.release(System.nanoTime() - start, overloaded);
+            }
+        };
+    }
+
+    private static boolean isOverloaded(int status) {
+        return status == 429 || status == 503 || status == 504;
+    }
+}
@@ -0,0 +1,30 @@
+package com.sme.finance.core.client.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches successful GET responses of the annotated {@code @AuthorizedFeignClient} method.
+ * <p>
+ * Responses are keyed by method, request URL (and thereby the arguments), the caller's Authorization header and
+ * the {@link #vary()} headers. A response is served from the cache while fresh; once stale, it is revalidated with
+ * {@code If-None-Match} when it carried an {@code ETag}, so that an unchanged resource costs a 304.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface CachedResponse {
+
+    /**
+     * @return the ISO-8601 duration a response is served without revalidation.
+     */
+    String ttl() default "PT1M";
+
+    /**
+     * @return the request headers, for instance a tenant header, that are part of the cache key.
+     */
+    String[] vary() default {};
+}
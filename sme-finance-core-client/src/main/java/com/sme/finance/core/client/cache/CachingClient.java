@@ -0,0 +1,194 @@
+package com.sme.finance.core.client.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link Client} serving {@link CachedResponse} methods from the cache and revalidating stale entries with their ETag.
+ * <p>
+ * Entries are keyed by the principal the call is made for rather than by its token, so they survive token refreshes.
+ */
+class CachingClient implements Client {
+
+    private static final String AUTHORIZATION = "Authorization";
+    private static final String CACHE_CONTROL = "Cache-Control";
+    private static final String ETAG = "ETag";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String NO_STORE = "no-store";
+
+    private final Client delegate;
+    private final Cache<Key, Entry> cache;
+    private final int maximumBodySize;
+
+    private final ConcurrentMap<Method, Optional<Policy>> policies = new ConcurrentHashMap<>();
+
+    CachingClient(Client delegate, Cache<Key, Entry> cache, int maximumBodySize) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.maximumBodySize = maximumBodySize;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        final Policy policy = policyOf(request);
+        if (policy == null) {
+            return delegate.execute(request, options);
+        }
+
+        final Key key = keyOf(request, policy);
+        final Entry entry = cache.getIfPresent(key);
+        final long now = System.nanoTime();
+
+        if (entry != null && now - entry.storedAt() < policy.ttlNanos()) {
+            return entry.toResponse(request);
+        }
+
+        if (entry != null && entry.etag() != null) {
+            final Response response = delegate.execute(withHeader(request, IF_NONE_MATCH, entry.etag()), options);
+
+            if (response.status() == 304) {
+                response.close();
+                final Entry revalidated = entry.revalidatedAt(System.nanoTime());
+                cache.put(key, revalidated);
+
+                return revalidated.toResponse(request);
+            }
+
+            return store(key, request, response);
+        }
+
+        return store(key, request, delegate.execute(request, options));
+    }
+
+    private Response store(Key key, Request request, Response response) throws IOException {
+        if (response.status() != 200 || response.body() == null || isNoStore(response)) {
+            return response;
+        }
+
+        final Integer length = response.body().length();
+        if (length != null && length > maximumBodySize) {
+            return response;
+        }
+
+        final byte[] body;
+        try (InputStream inputStream = response.body().asInputStream()) {
+            body = inputStream.readAllBytes();
+        }
+
+        if (body.length > maximumBodySize) {
+            // The declared length was missing or understated, serve the buffered body without caching it
+            return response.toBuilder().body(body).build();
+        }
+
+        final Entry entry = new Entry(response.status(), response.reason(), response.headers(), body, firstHeader(response, ETAG), System.nanoTime());
+        cache.put(key, entry);
+
+        return entry.toResponse(request);
+    }
+
+    private Policy policyOf(Request request) {
+        if (request.httpMethod() != Request.HttpMethod.GET || request.requestTemplate() == null
+            || request.requestTemplate().methodMetadata() == null) {
+            return null;
+        }
+
+        final Method method = request.requestTemplate().methodMetadata().method();
+        if (method == null) {
+            return null;
+        }
+
+        return policies.computeIfAbsent(method, m -> Optional.ofNullable(m.getAnnotation(CachedResponse.class)).map(Policy::of))
+            .orElse(null);
+    }
+
+    private Key keyOf(Request request, Policy policy) {
+        final List<String> varyValues = new ArrayList<>(policy.vary().length);
+        for (String header : policy.vary()) {
+            varyValues.add(String.valueOf(request.headers().get(header)));
+        }
+
+        return new Key(request.requestTemplate().methodMetadata().configKey(), request.url(), principalOf(request), List.copyOf(varyValues));
+    }
+
+    /**
+     * Identify the principal the call is made for; calls without user context are made with the service's own token.
+     */
+    private static String principalOf(Request request) {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication instanceof JwtAuthenticationToken jwtAuthentication) {
+            return "jwt:" + jwtAuthentication.getToken().getIssuer() + ":" + jwtAuthentication.getName();
+        } else if (authentication instanceof OAuth2AuthenticationToken oauthToken) {
+            return "oauth2:" + oauthToken.getAuthorizedClientRegistrationId() + ":" + oauthToken.getName();
+        } else if (authentication != null && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "principal:" + authentication.getName();
+        }
+
+        final Collection<String> authorization = request.headers().get(AUTHORIZATION);
+        return authorization == null || authorization.isEmpty() ? "anonymous" : "service";
+    }
+
+    private static Request withHeader(Request request, String name, String value) {
+        final Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+        headers.put(name, List.of(value));
+
+        return Request.create(request.httpMethod(), request.url(), headers, request.body(), request.charset(), request.requestTemplate());
+    }
+
+    private static boolean isNoStore(Response response) {
+        final Collection<String> cacheControl = response.headers().get(CACHE_CONTROL);
+        return cacheControl != null && cacheControl.stream().anyMatch(value -> value.contains(NO_STORE));
+    }
+
+    private static String firstHeader(Response response, String name) {
+        final Collection<String> values = response.headers().get(name);
+        return values == null || values.isEmpty() ? null : values.iterator().next();
+    }
+
+    private record Policy(long ttlNanos, String[] vary) {
+
+        static Policy of(CachedResponse cachedResponse) {
+            return new Policy(Duration.parse(cachedResponse.ttl()).toNanos(), cachedResponse.vary());
+        }
+    }
+
+    record Key(String configKey, String url, String principal, List<String> vary) {
+    }
+
+    record Entry(int status, String reason, Map<String, Collection<String>> headers, byte[] body, String etag, long storedAt) {
+
+        Entry revalidatedAt(long now) {
+            return new Entry(status, reason, headers, body, etag, now);
+        }
+
+        Response toResponse(Request request) {
+            return Response.builder()
+                .status(status)
+                .reason(reason)
+                .headers(headers)
+                .body(body)
+                .request(request)
+                .build();
+        }
+    }
+}
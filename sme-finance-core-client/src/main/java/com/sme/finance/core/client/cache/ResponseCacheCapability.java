@@ -0,0 +1,36 @@
+package com.sme.finance.core.client.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.Capability;
+import feign.Client;
+
+import java.time.Duration;
+
+/**
+ * Feign {@link Capability} adding the response cache of {@link CachedResponse} methods to the client.
+ */
+public class ResponseCacheCapability implements Capability {
+
+    private final Cache<CachingClient.Key, CachingClient.Entry> cache;
+    private final int maximumBodySize;
+
+    /**
+     * @param maximumWeight    the maximum total size in bytes of the cached bodies.
+     * @param maximumStaleness the maximum time an entry is kept after being stored or revalidated.
+     * @param maximumBodySize  the maximum size in bytes of a cached body.
+     */
+    public ResponseCacheCapability(long maximumWeight, Duration maximumStaleness, int maximumBodySize) {
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((CachingClient.Key key, CachingClient.Entry entry) -> entry.body().length)
+            .expireAfterWrite(maximumStaleness)
+            .build();
+        this.maximumBodySize = maximumBodySize;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return new CachingClient(client, cache, maximumBodySize);
+    }
+}
@@ -0,0 +1,35 @@
+package com.sme.finance.core.client.collapse;
+
+import com.sme.finance.core.client.concurrent.AuthorizationContext;
+import lombok.experimental.UtilityClass;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.AbstractOAuth2TokenAuthenticationToken;
+
+import java.util.Optional;
+
+/**
+ * Identifies the credentials a call would be relayed with; calls are only collapsed within one scope.
+ */
+@UtilityClass
+class AuthorizationScope {
+
+    static String current() {
+        final Optional<AuthorizationContext> context = AuthorizationContext.current();
+        if (context.isPresent()) {
+            return "header:" + context.get().authorizationHeader();
+        }
+
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof AbstractOAuth2TokenAuthenticationToken<?> tokenAuthentication) {
+            return "token:" + tokenAuthentication.getToken().getTokenValue();
+        } else if (authentication instanceof OAuth2AuthenticationToken oauthToken) {
+            return "client:" + oauthToken.getAuthorizedClientRegistrationId() + ":" + oauthToken.getName();
+        } else if (authentication != null) {
+            return "principal:" + authentication.getName();
+        }
+
+        return "anonymous";
+    }
+}
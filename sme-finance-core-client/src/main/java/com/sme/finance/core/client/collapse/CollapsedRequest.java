@@ -0,0 +1,38 @@
+package com.sme.finance.core.client.collapse;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Collapses concurrent identical calls of the annotated idempotent {@code @AuthorizedFeignClient} method.
+ * <p>
+ * Calls with equal arguments made within the same authorization scope while one is in flight share its decoded
+ * result, which therefore must not be mutated by the callers. When {@link #batchMethod()} is set, calls are instead
+ * gathered during {@link #batchWindow()} and sent as one call of the bulk method.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface CollapsedRequest {
+
+    /**
+     * The bulk method of the same client, taking a collection of the annotated method's single argument
+     * and returning a {@link java.util.Map} from argument to result. Missing keys resolve to null.
+     *
+     * @return the bulk method name, or empty to collapse identical calls only.
+     */
+    String batchMethod() default "";
+
+    /**
+     * @return the ISO-8601 duration a batch gathers calls before it is sent.
+     */
+    String batchWindow() default "PT0.01S";
+
+    /**
+     * @return the batch size sending a batch before its window elapsed.
+     */
+    int maxBatchSize() default 100;
+}
@@ -0,0 +1,195 @@
+package com.sme.finance.core.client.collapse;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link InvocationHandler} sharing in-flight calls of {@link CollapsedRequest} methods and batching them into bulk calls.
+ */
+class CollapsingInvocationHandler implements InvocationHandler {
+
+    private final InvocationHandler delegate;
+    private final Class<?> type;
+
+    private final ConcurrentMap<Method, Optional<Policy>> policies = new ConcurrentHashMap<>();
+    private final ConcurrentMap<CallKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<BatchKey, Batch> openBatches = new ConcurrentHashMap<>();
+
+    CollapsingInvocationHandler(InvocationHandler delegate, Class<?> type) {
+        this.delegate = delegate;
+        this.type = type;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        final Policy policy = policies.computeIfAbsent(method, this::policyOf).orElse(null);
+
+        if (policy == null) {
+            return delegate.invoke(proxy, method, args);
+        }
+
+        final String scope = AuthorizationScope.current();
+        if (policy.bulkMethod() != null) {
+            return batched(proxy, policy, scope, args[0]);
+        }
+
+        return collapsed(proxy, method, args, scope);
+    }
+
+    private Object collapsed(Object proxy, Method method, Object[] args, String scope) throws Throwable {
+        final CallKey key = new CallKey(method, args == null ? List.of() : Arrays.asList(args.clone()), scope);
+        final CompletableFuture<Object> own = new CompletableFuture<>();
+        final CompletableFuture<Object> existing = inFlight.putIfAbsent(key, own);
+
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            final Object result = delegate.invoke(proxy, method, args);
+            own.complete(result);
+            return result;
+        } catch (Throwable e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    private Object batched(Object proxy, Policy policy, String scope, Object argument) throws Throwable {
+        final BatchKey key = new BatchKey(policy.bulkMethod(), scope);
+
+        while (true) {
+            final Batch batch = openBatches.computeIfAbsent(key, k -> new Batch(policy.maxBatchSize()));
+            final Batch.Ticket ticket = batch.add(argument);
+
+            if (ticket == null) {
+                openBatches.remove(key, batch);
+                continue;
+            }
+
+            if (ticket.leader()) {
+                final Map<Object, CompletableFuture<Object>> calls = batch.awaitAndClose(policy.batchWindowNanos());
+                openBatches.remove(key, batch);
+                sendBatch(proxy, policy.bulkMethod(), calls);
+            }
+
+            return await(ticket.result());
+        }
+    }
+
+    private void sendBatch(Object proxy, Method bulkMethod, Map<Object, CompletableFuture<Object>> calls) {
+        try {
+            final Map<?, ?> results = (Map<?, ?>) delegate.invoke(proxy, bulkMethod, new Object[]{new ArrayList<>(calls.keySet())});
+
+            calls.forEach((argument, result) -> result.complete(results == null ? null : results.get(argument)));
+        } catch (Throwable e) {
+            calls.values().forEach(result -> result.completeExceptionally(e));
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> result) throws Throwable {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Optional<Policy> policyOf(Method method) {
+        final CollapsedRequest collapsedRequest = method.getAnnotation(CollapsedRequest.class);
+        if (collapsedRequest == null) {
+            return Optional.empty();
+        }
+
+        if (collapsedRequest.batchMethod().isEmpty()) {
+            return Optional.of(new Policy(null, 0L, 0));
+        }
+
+        if (method.getParameterCount() != 1) {
+            throw new IllegalStateException("Batched method " + method + " should have a single parameter");
+        }
+
+        final Method bulkMethod = Arrays.stream(type.getMethods())
+            .filter(candidate -> candidate.getName().equals(collapsedRequest.batchMethod()))
+            .filter(candidate -> candidate.getParameterCount() == 1)
+            .filter(candidate -> candidate.getParameterTypes()[0].isAssignableFrom(ArrayList.class))
+            .filter(candidate -> Map.class.isAssignableFrom(candidate.getReturnType()))
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException(
+                "No bulk method " + collapsedRequest.batchMethod() + "(Collection) returning a Map found on " + type.getName()));
+
+        return Optional.of(new Policy(bulkMethod, Duration.parse(collapsedRequest.batchWindow()).toNanos(), collapsedRequest.maxBatchSize()));
+    }
+
+    private record Policy(Method bulkMethod, long batchWindowNanos, int maxBatchSize) {
+    }
+
+    private record CallKey(Method method, List<Object> args, String scope) {
+    }
+
+    private record BatchKey(Method bulkMethod, String scope) {
+    }
+
+    /**
+     * Calls gathered for one bulk call. The first caller leads: it waits for the window and sends the batch.
+     */
+    private static final class Batch {
+
+        private final int maxSize;
+        private final Map<Object, CompletableFuture<Object>> calls = new LinkedHashMap<>();
+        private boolean closed;
+
+        private Batch(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        synchronized Ticket add(Object argument) {
+            if (closed) {
+                return null;
+            }
+
+            final boolean leader = calls.isEmpty();
+            final CompletableFuture<Object> result = calls.computeIfAbsent(argument, a -> new CompletableFuture<>());
+            if (calls.size() >= maxSize) {
+                closed = true;
+                notifyAll();
+            }
+
+            return new Ticket(result, leader);
+        }
+
+        synchronized Map<Object, CompletableFuture<Object>> awaitAndClose(long windowNanos) {
+            final long deadline = System.nanoTime() + windowNanos;
+
+            try {
+                long remaining = windowNanos;
+                while (!closed && remaining > 0) {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                    remaining = deadline - System.nanoTime();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            closed = true;
+            return calls;
+        }
+
+        private record Ticket(CompletableFuture<Object> result, boolean leader) {
+        }
+    }
+}
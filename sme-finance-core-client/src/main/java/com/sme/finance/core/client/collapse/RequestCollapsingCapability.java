@@ -0,0 +1,15 @@
+package com.sme.finance.core.client.collapse;
+
+import feign.Capability;
+import feign.InvocationHandlerFactory;
+
+/**
+ * Feign {@link Capability} collapsing the calls of {@link CollapsedRequest} methods.
+ */
+public class RequestCollapsingCapability implements Capability {
+
+    @Override
+    public InvocationHandlerFactory enrich(InvocationHandlerFactory invocationHandlerFactory) {
+        return (target, dispatch) -> new CollapsingInvocationHandler(invocationHandlerFactory.create(target, dispatch), target.type());
+    }
+}
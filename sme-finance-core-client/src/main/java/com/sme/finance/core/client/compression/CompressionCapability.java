@@ -0,0 +1,112 @@
+package com.sme.finance.core.client.compression;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Feign {@link Capability} compressing request bodies and decompressing responses.
+ * <p>
+ * Every request advertises the supported codings through Accept-Encoding, zstd first when zstd-jni is present.
+ * Request bodies of at least the threshold size are sent with gzip, or with zstd once the server has shown that it
+ * accepts zstd, either through an Accept-Encoding response header or by answering with zstd itself.
+ */
+public class CompressionCapability implements Capability {
+
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final String CONTENT_LENGTH = "Content-Length";
+    private static final boolean ZSTD_PRESENT = ClassUtils.isPresent("com.github.luben.zstd.Zstd", CompressionCapability.class.getClassLoader());
+
+    private final int minRequestSize;
+    private final GzipCodec gzip;
+    private final ZstdCodec zstd;
+    private final String acceptEncoding;
+
+    private volatile boolean peerAcceptsZstd;
+
+    public CompressionCapability(int minRequestSize, int gzipLevel, boolean zstdEnabled, int zstdLevel) {
+        this.minRequestSize = minRequestSize;
+        this.gzip = new GzipCodec(gzipLevel);
+        this.zstd = zstdEnabled && ZSTD_PRESENT ? new ZstdCodec(zstdLevel) : null;
+        this.acceptEncoding = zstd != null ? zstd.encoding() + ", " + gzip.encoding() : gzip.encoding();
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> decompress(client.execute(compress(request), options));
+    }
+
+    private Request compress(Request request) throws IOException {
+        final Map<String, Collection<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(request.headers());
+        headers.putIfAbsent(ACCEPT_ENCODING, List.of(acceptEncoding));
+
+        final byte[] body = request.body();
+        if (body == null || body.length < minRequestSize || headers.containsKey(CONTENT_ENCODING)) {
+            return Request.create(request.httpMethod(), request.url(), headers, body, request.charset(), request.requestTemplate());
+        }
+
+        final ContentCodec codec = zstd != null && peerAcceptsZstd ? zstd : gzip;
+        final byte[] encoded = codec.encode(body);
+
+        headers.put(CONTENT_ENCODING, List.of(codec.encoding()));
+        headers.put(CONTENT_LENGTH, List.of(String.valueOf(encoded.length)));
+
+        return Request.create(request.httpMethod(), request.url(), headers, encoded, null, request.requestTemplate());
+    }
+
+    private Response decompress(Response response) throws IOException {
+        final String contentEncoding = firstHeader(response, CONTENT_ENCODING);
+        learnPeerCodings(response, contentEncoding);
+
+        final ContentCodec codec = codecOf(contentEncoding);
+        if (codec == null || response.body() == null) {
+            return response;
+        }
+
+        final Map<String, Collection<String>> headers = new LinkedHashMap<>(response.headers());
+        headers.keySet().removeIf(name -> CONTENT_ENCODING.equalsIgnoreCase(name) || CONTENT_LENGTH.equalsIgnoreCase(name));
+
+        return response.toBuilder()
+            .headers(headers)
+            .body(codec.decode(response.body().asInputStream()), null)
+            .build();
+    }
+
+    private void learnPeerCodings(Response response, String contentEncoding) {
+        if (zstd == null || peerAcceptsZstd) {
+            return;
+        }
+
+        final String accepted = firstHeader(response, ACCEPT_ENCODING);
+        if (zstd.encoding().equalsIgnoreCase(contentEncoding) || (accepted != null && accepted.contains(zstd.encoding()))) {
+            peerAcceptsZstd = true;
+        }
+    }
+
+    private ContentCodec codecOf(String contentEncoding) {
+        if (contentEncoding == null) {
+            return null;
+        } else if (gzip.encoding().equalsIgnoreCase(contentEncoding.trim())) {
+            return gzip;
+        } else if (zstd != null && zstd.encoding().equalsIgnoreCase(contentEncoding.trim())) {
+            return zstd;
+        }
+        return null;
+    }
+
+    private static String firstHeader(Response response, String name) {
+        final Collection<String> values = response.headers().get(name);
+        return values == null || values.isEmpty() ? null : values.iterator().next();
+    }
+}
@@ -0,0 +1,19 @@
+package com.sme.finance.core.client.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Content coding applied to request bodies and removed from response bodies.
+ */
+interface ContentCodec {
+
+    /**
+     * @return the coding name used in Content-Encoding and Accept-Encoding.
+     */
+    String encoding();
+
+    byte[] encode(byte[] body) throws IOException;
+
+    InputStream decode(InputStream body) throws IOException;
+}
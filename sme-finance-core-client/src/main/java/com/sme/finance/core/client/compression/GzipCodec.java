@@ -0,0 +1,83 @@
+package com.sme.finance.core.client.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Gzip coding reusing a {@link Deflater}, a {@link CRC32} and an output buffer per thread instead of allocating them
+ * per body.
+ */
+class GzipCodec implements ContentCodec {
+
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int TRAILER_LENGTH = 8;
+    private static final int MAX_POOLED_BUFFER = 1 << 20;
+    private static final int ENCODE_BUFFER = 8192;
+    private static final int DECODE_BUFFER = 8192;
+
+    private final ThreadLocal<Deflater> deflaters;
+    private final ThreadLocal<CRC32> checksums = ThreadLocal.withInitial(CRC32::new);
+    private final ThreadLocal<byte[]> buffers = ThreadLocal.withInitial(() -> new byte[ENCODE_BUFFER]);
+
+    GzipCodec(int level) {
+        this.deflaters = ThreadLocal.withInitial(() -> new Deflater(level, true));
+    }
+
+    @Override
+    public String encoding() {
+        return "gzip";
+    }
+
+    @Override
+    public byte[] encode(byte[] body) {
+        final Deflater deflater = deflaters.get();
+        deflater.reset();
+        deflater.setInput(body);
+        deflater.finish();
+
+        byte[] buffer = buffers.get();
+        buffer = ensureCapacity(buffer, HEADER.length);
+        System.arraycopy(HEADER, 0, buffer, 0, HEADER.length);
+        int length = HEADER.length;
+
+        while (!deflater.finished()) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            length += deflater.deflate(buffer, length, buffer.length - length);
+        }
+
+        final CRC32 crc = checksums.get();
+        crc.reset();
+        crc.update(body);
+        buffer = ensureCapacity(buffer, length + TRAILER_LENGTH);
+        length = writeIntLe(buffer, length, (int) crc.getValue());
+        length = writeIntLe(buffer, length, body.length);
+
+        if (buffer.length <= MAX_POOLED_BUFFER) {
+            buffers.set(buffer);
+        }
+        return Arrays.copyOf(buffer, length);
+    }
+
+    @Override
+    public InputStream decode(InputStream body) throws IOException {
+        return new GZIPInputStream(body, DECODE_BUFFER);
+    }
+
+    private static byte[] ensureCapacity(byte[] buffer, int capacity) {
+        return buffer.length >= capacity ? buffer : Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+    }
+
+    private static int writeIntLe(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) value;
+        buffer[offset + 1] = (byte) (value >>> 8);
+        buffer[offset + 2] = (byte) (value >>> 16);
+        buffer[offset + 3] = (byte) (value >>> 24);
+        return offset + 4;
+    }
+}
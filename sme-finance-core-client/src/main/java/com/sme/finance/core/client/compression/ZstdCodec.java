@@ -0,0 +1,36 @@
+package com.sme.finance.core.client.compression;
+
+import com.github.luben.zstd.RecyclingBufferPool;
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Zstandard coding backed by the optional zstd-jni library, with decoding buffers taken from its recycling pool.
+ * Only loaded when the library is present.
+ */
+class ZstdCodec implements ContentCodec {
+
+    private final int level;
+
+    ZstdCodec(int level) {
+        this.level = level;
+    }
+
+    @Override
+    public String encoding() {
+        return "zstd";
+    }
+
+    @Override
+    public byte[] encode(byte[] body) {
+        return Zstd.compress(body, level);
+    }
+
+    @Override
+    public InputStream decode(InputStream body) throws IOException {
+        return new ZstdInputStream(body, RecyclingBufferPool.INSTANCE);
+    }
+}
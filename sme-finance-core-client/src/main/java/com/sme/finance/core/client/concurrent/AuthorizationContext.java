@@ -0,0 +1,106 @@
+package com.sme.finance.core.client.concurrent;
+
+import com.sme.finance.core.security.oauth2.AuthorizationHeaderUtil;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+/**
+ * Snapshot of the caller's {@link Authentication} and of the Authorization header resolved for it.
+ * <p>
+ * A snapshot is captured once on the calling thread and installed on the threads running its child tasks, so that
+ * {@code TokenRelayRequestInterceptor} relays the captured header instead of resolving it again per call.
+ *
+ * @param authentication      the captured authentication, may be null.
+ * @param authorizationHeader the captured Authorization header value, may be null.
+ */
+public record AuthorizationContext(Authentication authentication, String authorizationHeader) {
+
+    private static final ThreadLocal<AuthorizationContext> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Capture the context of the current thread, reusing the snapshot already installed on it if any.
+     *
+     * @param authorizationHeaderUtil the util resolving the Authorization header.
+     * @return the captured context.
+     */
+    public static AuthorizationContext capture(AuthorizationHeaderUtil authorizationHeaderUtil) {
+        final AuthorizationContext current = CURRENT.get();
+        if (current != null) {
+            return current;
+        }
+
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        final String authorizationHeader = authorizationHeaderUtil.getAuthorizationHeader().orElse(null);
+
+        return new AuthorizationContext(authentication, authorizationHeader);
+    }
+
+    /**
+     * @return the context installed on the current thread, if any.
+     */
+    public static Optional<AuthorizationContext> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Wrap the task so that it runs with this context installed.
+     *
+     * @param task the task to wrap.
+     * @return the wrapped task.
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            final Installation installation = install();
+            try {
+                task.run();
+            } finally {
+                installation.restore();
+            }
+        };
+    }
+
+    /**
+     * Wrap the task so that it runs with this context installed.
+     *
+     * @param task the task to wrap.
+     * @param <T>  the result type.
+     * @return the wrapped task.
+     */
+    public <T> Callable<T> wrap(Callable<T> task) {
+        return () -> {
+            final Installation installation = install();
+            try {
+                return task.call();
+            } finally {
+                installation.restore();
+            }
+        };
+    }
+
+    private Installation install() {
+        final Installation installation = new Installation(CURRENT.get(), SecurityContextHolder.getContext());
+
+        final SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(authentication);
+        SecurityContextHolder.setContext(securityContext);
+        CURRENT.set(this);
+
+        return installation;
+    }
+
+    private record Installation(AuthorizationContext previous, SecurityContext previousSecurityContext) {
+
+        void restore() {
+            SecurityContextHolder.setContext(previousSecurityContext);
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.sme.finance.core.client.concurrent;
+
+import com.sme.finance.core.security.oauth2.AuthorizationHeaderUtil;
+
+import java.util.concurrent.Executor;
+
+/**
+ * {@link Executor} running each task with a single {@link AuthorizationContext}.
+ * <p>
+ * The context is captured once when the executor is created and reused for every submitted task, so the
+ * Authorization header is resolved once per fan-out instead of once per task. Create one executor per
+ * originating request, e.g. with {@link #forCurrentContext(Executor, AuthorizationHeaderUtil)}.
+ */
+public class AuthorizationContextExecutor implements Executor {
+
+    private final Executor delegate;
+    private final AuthorizationContext context;
+
+    public AuthorizationContextExecutor(final Executor delegate, final AuthorizationContext context) {
+        this.delegate = delegate;
+        this.context = context;
+    }
+
+    /**
+     * Create an executor running tasks with the context of the current thread, captured once.
+     *
+     * @param delegate                the executor running the tasks.
+     * @param authorizationHeaderUtil the util resolving the Authorization header.
+     * @return the executor.
+     */
+    public static AuthorizationContextExecutor forCurrentContext(final Executor delegate,
+                                                                 final AuthorizationHeaderUtil authorizationHeaderUtil) {
+        return new AuthorizationContextExecutor(delegate, AuthorizationContext.capture(authorizationHeaderUtil));
+    }
+
+    /**
+     * @return the context the tasks run with.
+     */
+    public AuthorizationContext context() {
+        return context;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        delegate.execute(context.wrap(command));
+    }
+}
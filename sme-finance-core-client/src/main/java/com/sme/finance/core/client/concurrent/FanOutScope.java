@@ -0,0 +1,178 @@
+package com.sme.finance.core.client.concurrent;
+
+import com.sme.finance.core.security.oauth2.AuthorizationHeaderUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scope forking calls that run with the caller's {@link AuthorizationContext}, captured once when the scope opens.
+ * <p>
+ * The scope is owned by the thread that opened it: only that thread forks and joins. {@link #join()} fails fast,
+ * cancelling the remaining forks on the first failure, and closing the scope cancels whatever did not complete.
+ * <pre>{@code
+ * try (FanOutScope scope = FanOutScope.open(executor, authorizationHeaderUtil)) {
+ *     Future<Account> account = scope.fork(() -> accountClient.getAccount(id));
+ *     Future<Limits> limits = scope.fork(() -> limitsClient.getLimits(id));
+ *     scope.join();
+ *     return new Overview(account.get(), limits.get());
+ * }
+ * }</pre>
+ */
+public final class FanOutScope implements AutoCloseable {
+
+    private final Executor executor;
+    private final AuthorizationContext context;
+
+    private final List<Fork<?>> forks = new ArrayList<>();
+    private final BlockingQueue<Fork<?>> completed = new LinkedBlockingQueue<>();
+
+    private FanOutScope(Executor executor, AuthorizationContext context) {
+        this.executor = executor;
+        this.context = context;
+    }
+
+    /**
+     * Open a scope capturing the authorization context of the current thread.
+     *
+     * @param executor                the executor running the forks.
+     * @param authorizationHeaderUtil the util resolving the Authorization header.
+     * @return the scope.
+     */
+    public static FanOutScope open(Executor executor, AuthorizationHeaderUtil authorizationHeaderUtil) {
+        return new FanOutScope(executor, AuthorizationContext.capture(authorizationHeaderUtil));
+    }
+
+    /**
+     * Open a scope running forks with the given authorization context.
+     *
+     * @param executor the executor running the forks.
+     * @param context  the authorization context.
+     * @return the scope.
+     */
+    public static FanOutScope open(Executor executor, AuthorizationContext context) {
+        return new FanOutScope(executor, context);
+    }
+
+    /**
+     * @return the authorization context the forks run with.
+     */
+    public AuthorizationContext context() {
+        return context;
+    }
+
+    /**
+     * Fork a call.
+     *
+     * @param task the call.
+     * @param <T>  the result type.
+     * @return the future of the call's result.
+     * @throws RejectedExecutionException if the executor rejected the call; the fork is completed with the rejection.
+     */
+    public <T> Future<T> fork(Callable<T> task) {
+        final Fork<T> fork = start(task);
+        if (fork.rejection != null) {
+            throw fork.rejection;
+        }
+
+        return fork;
+    }
+
+    /**
+     * Fork a call; a call rejected by the executor is returned completed with the rejection.
+     */
+    <T> Future<T> submit(Callable<T> task) {
+        return start(task);
+    }
+
+    /**
+     * Wait for the next fork to complete; forks are returned in completion order, once.
+     *
+     * @param timeoutNanos the maximum time to wait.
+     * @return the completed fork, or null if none completed in time.
+     */
+    Future<?> poll(long timeoutNanos) throws InterruptedException {
+        return completed.poll(timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private <T> Fork<T> start(Callable<T> task) {
+        final Fork<T> fork = new Fork<>(context.wrap(task));
+        forks.add(fork);
+
+        try {
+            executor.execute(fork);
+        } catch (RejectedExecutionException e) {
+            fork.reject(e);
+        }
+
+        return fork;
+    }
+
+    /**
+     * Wait for all forks to complete.
+     *
+     * @throws ExecutionException   if a fork failed; the remaining forks are cancelled.
+     * @throws InterruptedException if interrupted while waiting; the remaining forks are cancelled.
+     */
+    public void join() throws ExecutionException, InterruptedException {
+        int pending = (int) forks.stream().filter(fork -> !fork.joined).count();
+
+        try {
+            while (pending > 0) {
+                final Fork<?> fork = completed.take();
+                if (fork.joined) {
+                    continue;
+                }
+
+                fork.joined = true;
+                pending--;
+                if (!fork.isCancelled()) {
+                    fork.get();
+                }
+            }
+        } catch (ExecutionException | InterruptedException e) {
+            cancelAll();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+    }
+
+    private void cancelAll() {
+        for (Fork<?> fork : forks) {
+            fork.cancel(true);
+        }
+    }
+
+    private final class Fork<T> extends FutureTask<T> {
+
+        private boolean joined;
+        private RejectedExecutionException rejection;
+
+        private Fork(Callable<T> callable) {
+            super(callable);
+        }
+
+        private void reject(RejectedExecutionException e) {
+            rejection = e;
+            setException(e);
+        }
+
+        @Override
+        protected void done() {
+            completed.add(this);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.sme.finance.core.client.concurrent;
+
+/**
+ * Decides which unsuccessful calls fail a {@link ScatterGather}.
+ */
+public enum PartialResultPolicy {
+
+    /**
+     * Any failed or timed out call cancels the outstanding calls and fails the gather.
+     */
+    ALL_OR_NOTHING,
+
+    /**
+     * Only failed or timed out calls forked as required fail the gather; the others are reported in their {@link ScatterGather.Call}.
+     */
+    REQUIRED_ONLY,
+
+    /**
+     * The gather never fails; every outcome is reported in its {@link ScatterGather.Call}.
+     */
+    BEST_EFFORT;
+
+    boolean failsGather(ScatterGather.Call<?> call) {
+        return switch (this) {
+            case ALL_OR_NOTHING -> true;
+            case REQUIRED_ONLY -> call.isRequired();
+            case BEST_EFFORT -> false;
+        };
+    }
+}
@@ -0,0 +1,310 @@
+package com.sme.finance.core.client.concurrent;
+
+import com.sme.finance.core.security.oauth2.AuthorizationHeaderUtil;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs independent calls, typically to {@code @AuthorizedFeignClient}s, in parallel within an overall time budget.
+ * <p>
+ * Calls run with the caller's {@link AuthorizationContext}, captured once. Each call may have its own deadline,
+ * bounded by the budget; calls past their deadline are cancelled and reported as timed out. Whether an
+ * unsuccessful call fails the gather is decided by the {@link PartialResultPolicy}; when it does, the outstanding
+ * calls are cancelled. A call rejected by the executor fails immediately. The calls are forked in a {@link FanOutScope};
+ * the instance is owned by the thread that opened it and is single use.
+ * <pre>{@code
+ * try (ScatterGather sg = ScatterGather.open(executor, authorizationHeaderUtil, Duration.ofMillis(800), PartialResultPolicy.REQUIRED_ONLY)) {
+ *     Call<Account> account = sg.call(() -> accountClient.getAccount(id));
+ *     Call<Offers> offers = sg.optionalCall(() -> offersClient.getOffers(id), Duration.ofMillis(200));
+ *     sg.gather();
+ *     return new Overview(account.get(), offers.result().orElse(Offers.NONE));
+ * }
+ * }</pre>
+ */
+public final class ScatterGather implements AutoCloseable {
+
+    /**
+     * State of a call.
+     */
+    public enum State {
+        PENDING,
+        SUCCEEDED,
+        FAILED,
+        TIMED_OUT,
+        CANCELLED
+    }
+
+    private final FanOutScope scope;
+    private final PartialResultPolicy policy;
+    private final long budgetEnd;
+
+    private final List<Call<?>> calls = new ArrayList<>();
+    private final Map<Future<?>, Call<?>> callsByFork = new IdentityHashMap<>();
+
+    private ScatterGather(Executor executor, AuthorizationContext context, Duration budget, PartialResultPolicy policy) {
+        Assert.isTrue(!budget.isNegative(), "Budget should not be negative.");
+
+        this.scope = FanOutScope.open(executor, context);
+        this.policy = policy;
+        this.budgetEnd = System.nanoTime() + budget.toNanos();
+    }
+
+    /**
+     * Open a scatter-gather capturing the authorization context of the current thread. The budget starts now.
+     *
+     * @param executor                the executor running the calls.
+     * @param authorizationHeaderUtil the util resolving the Authorization header.
+     * @param budget                  the overall time budget.
+     * @param policy                  the partial result policy.
+     * @return the scatter-gather.
+     */
+    public static ScatterGather open(Executor executor, AuthorizationHeaderUtil authorizationHeaderUtil, Duration budget, PartialResultPolicy policy) {
+        return new ScatterGather(executor, AuthorizationContext.capture(authorizationHeaderUtil), budget, policy);
+    }
+
+    /**
+     * Open a scatter-gather running the calls with the given authorization context. The budget starts now.
+     *
+     * @param executor the executor running the calls.
+     * @param context  the authorization context.
+     * @param budget   the overall time budget.
+     * @param policy   the partial result policy.
+     * @return the scatter-gather.
+     */
+    public static ScatterGather open(Executor executor, AuthorizationContext context, Duration budget, PartialResultPolicy policy) {
+        return new ScatterGather(executor, context, budget, policy);
+    }
+
+    /**
+     * Start a required call bounded by the overall budget.
+     *
+     * @param task the call.
+     * @param <T>  the result type.
+     * @return the call.
+     */
+    public <T> Call<T> call(Callable<T> task) {
+        return fork(task, budgetEnd, true);
+    }
+
+    /**
+     * Start a required call with its own deadline.
+     *
+     * @param task     the call.
+     * @param deadline the maximum duration of the call, bounded by the overall budget.
+     * @param <T>      the result type.
+     * @return the call.
+     */
+    public <T> Call<T> call(Callable<T> task, Duration deadline) {
+        return fork(task, deadlineOf(deadline), true);
+    }
+
+    /**
+     * Start an optional call with its own deadline; see {@link PartialResultPolicy#REQUIRED_ONLY}.
+     *
+     * @param task     the call.
+     * @param deadline the maximum duration of the call, bounded by the overall budget.
+     * @param <T>      the result type.
+     * @return the call.
+     */
+    public <T> Call<T> optionalCall(Callable<T> task, Duration deadline) {
+        return fork(task, deadlineOf(deadline), false);
+    }
+
+    /**
+     * Wait until every call completed or timed out.
+     *
+     * @throws ScatterGatherException if an unsuccessful call fails the gather according to the policy.
+     * @throws InterruptedException   if interrupted while waiting; the outstanding calls are cancelled.
+     */
+    public void gather() throws InterruptedException {
+        try {
+            int pending = (int) calls.stream().filter(Call::isPending).count();
+
+            while (pending > 0) {
+                final long now = System.nanoTime();
+                long nextDeadline = Long.MAX_VALUE;
+
+                for (Call<?> call : calls) {
+                    if (!call.isPending()) {
+                        continue;
+                    }
+                    if (now - call.deadline >= 0) {
+                        call.expire();
+                        pending--;
+                        failIfRequired(call);
+                    } else if (nextDeadline == Long.MAX_VALUE || call.deadline - nextDeadline < 0) {
+                        nextDeadline = call.deadline;
+                    }
+                }
+
+                if (pending == 0) {
+                    break;
+                }
+
+                final Future<?> fork = scope.poll(nextDeadline - now);
+                final Call<?> call = fork != null ? callsByFork.get(fork) : null;
+                if (call != null && call.settle()) {
+                    pending--;
+                    failIfRequired(call);
+                }
+            }
+        } catch (InterruptedException | ScatterGatherException e) {
+            cancelAll();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+        scope.close();
+    }
+
+    private <T> Call<T> fork(Callable<T> task, long deadline, boolean required) {
+        final Future<T> fork = scope.submit(task);
+        final Call<T> call = new Call<>(fork, deadline, required);
+        calls.add(call);
+        callsByFork.put(fork, call);
+
+        return call;
+    }
+
+    private long deadlineOf(Duration deadline) {
+        final long callDeadline = System.nanoTime() + deadline.toNanos();
+
+        return callDeadline - budgetEnd < 0 ? callDeadline : budgetEnd;
+    }
+
+    private void failIfRequired(Call<?> call) {
+        if (call.state() == State.SUCCEEDED || !policy.failsGather(call)) {
+            return;
+        }
+
+        cancelAll();
+        final List<Call<?>> unsuccessful = calls.stream().filter(c -> c.state() != State.SUCCEEDED).toList();
+
+        throw new ScatterGatherException("Scatter-gather call ended as " + call.state(), call.failure(), unsuccessful);
+    }
+
+    private void cancelAll() {
+        for (Call<?> call : calls) {
+            call.cancel();
+        }
+    }
+
+    /**
+     * Handle of a call started by a {@link ScatterGather}; its outcome is final once {@link #gather()} returned.
+     *
+     * @param <T> the result type.
+     */
+    public static final class Call<T> {
+
+        private final Future<T> task;
+        private final long deadline;
+        private final boolean required;
+
+        private volatile State state = State.PENDING;
+        private volatile T result;
+        private volatile Throwable failure;
+
+        private Call(Future<T> task, long deadline, boolean required) {
+            this.task = task;
+            this.deadline = deadline;
+            this.required = required;
+        }
+
+        public State state() {
+            return state;
+        }
+
+        public boolean isRequired() {
+            return required;
+        }
+
+        /**
+         * @return the result of the call.
+         * @throws NoSuchElementException if the call did not succeed.
+         */
+        public T get() {
+            if (state != State.SUCCEEDED) {
+                throw new NoSuchElementException("Call did not succeed: " + state, failure);
+            }
+            return result;
+        }
+
+        /**
+         * @return the result of the call, or empty if it did not succeed or returned null.
+         */
+        public Optional<T> result() {
+            return state == State.SUCCEEDED ? Optional.ofNullable(result) : Optional.empty();
+        }
+
+        /**
+         * @return the failure of an unsuccessful call, or null.
+         */
+        public Throwable failure() {
+            return failure;
+        }
+
+        private boolean isPending() {
+            return state == State.PENDING;
+        }
+
+        private boolean settle() {
+            if (!isPending()) {
+                return false;
+            }
+
+            try {
+                result = task.get();
+                state = State.SUCCEEDED;
+            } catch (ExecutionException e) {
+                failure = e.getCause();
+                state = State.FAILED;
+            } catch (CancellationException e) {
+                failure = e;
+                state = State.CANCELLED;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+
+            return true;
+        }
+
+        private void expire() {
+            // The call may complete up to the cancellation, its outcome is kept then
+            if (!task.cancel(true)) {
+                settle();
+                return;
+            }
+
+            failure = new TimeoutException("Call exceeded its deadline");
+            state = State.TIMED_OUT;
+        }
+
+        private void cancel() {
+            if (isPending()) {
+                if (!task.cancel(true)) {
+                    settle();
+                    return;
+                }
+                failure = new CancellationException("Scatter-gather cancelled");
+                state = State.CANCELLED;
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.sme.finance.core.client.concurrent;
+
+import java.util.List;
+
+/**
+ * Thrown when a {@link ScatterGather} fails according to its {@link PartialResultPolicy}.
+ */
+public class ScatterGatherException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<ScatterGather.Call<?>> unsuccessfulCalls;
+
+    public ScatterGatherException(String message, Throwable cause, List<ScatterGather.Call<?>> unsuccessfulCalls) {
+        super(message, cause);
+        this.unsuccessfulCalls = List.copyOf(unsuccessfulCalls);
+    }
+
+    /**
+     * @return the calls that failed, timed out or were cancelled.
+     */
+    public List<ScatterGather.Call<?>> getUnsuccessfulCalls() {
+        return unsuccessfulCalls;
+    }
+}
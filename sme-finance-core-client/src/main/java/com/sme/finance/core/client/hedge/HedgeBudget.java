@@ -0,0 +1,39 @@
+package com.sme.finance.core.client.hedge;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket capping hedges to a ratio of the hedgeable calls.
+ * <p>
+ * Each call deposits {@code ratio} of a token, up to {@code burst} tokens, and each hedge withdraws one.
+ */
+class HedgeBudget {
+
+    private static final long TOKEN = 1_000L;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    HedgeBudget(double ratio, int burst) {
+        this.deposit = Math.round(ratio * TOKEN);
+        this.capacity = burst * TOKEN;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    void deposit() {
+        balance.getAndUpdate(current -> Math.min(capacity, current + deposit));
+    }
+
+    boolean tryWithdraw() {
+        while (true) {
+            final long current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+}
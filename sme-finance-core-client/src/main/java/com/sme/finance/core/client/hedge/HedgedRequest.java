@@ -0,0 +1,36 @@
+package com.sme.finance.core.client.hedge;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Hedges calls of the annotated idempotent {@code @AuthorizedFeignClient} method.
+ * <p>
+ * When no response arrived within the {@link #percentile()} of the method's recent latency, bounded by
+ * {@link #minDelay()} and {@link #maxDelay()}, a second identical request is sent if the hedge budget allows.
+ * The first successful response wins; the other request is skipped if it did not start yet, otherwise its response
+ * is discarded when it arrives.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface HedgedRequest {
+
+    /**
+     * @return the latency percentile, in (0, 100), after which the hedge is sent.
+     */
+    double percentile() default 95.0;
+
+    /**
+     * @return the ISO-8601 minimum delay before the hedge is sent.
+     */
+    String minDelay() default "PT0.01S";
+
+    /**
+     * @return the ISO-8601 maximum delay before the hedge is sent, also used until enough latency is recorded.
+     */
+    String maxDelay() default "PT1S";
+}
@@ -0,0 +1,57 @@
+package com.sme.finance.core.client.hedge;
+
+import feign.Capability;
+import feign.Client;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Feign {@link Capability} hedging the calls of {@link HedgedRequest} methods.
+ * <p>
+ * Hedged calls run on a dedicated pool; when the pool is exhausted, calls run on the caller's thread unhedged.
+ */
+public class HedgingCapability implements Capability, DisposableBean {
+
+    private final HedgeBudget budget;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder fired = new LongAdder();
+    private final LongAdder won = new LongAdder();
+
+    public HedgingCapability(String clientName, double budgetRatio, int budgetBurst, int maxThreads) {
+        this.budget = new HedgeBudget(budgetRatio, budgetBurst);
+
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("feign-hedge-" + clientName + "-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(0, maxThreads, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), threadFactory);
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return new HedgingClient(client, executor, budget, fired, won);
+    }
+
+    /**
+     * @return the number of hedges sent.
+     */
+    public long getFiredCount() {
+        return fired.sum();
+    }
+
+    /**
+     * @return the number of hedges whose response won.
+     */
+    public long getWonCount() {
+        return won.sum();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
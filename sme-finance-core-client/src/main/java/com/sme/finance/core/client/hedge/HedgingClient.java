@@ -0,0 +1,220 @@
+package com.sme.finance.core.client.hedge;
+
+import com.sme.finance.core.client.concurrent.AuthorizationContext;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.slf4j.MDC;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Client} sending a second request for {@link HedgedRequest} methods when the first one is slow.
+ * <p>
+ * Both requests run on the hedging pool with the caller's MDC and security context. The first response wins;
+ * an in-flight HTTP call cannot be interrupted, so the losing request runs to completion and its response is
+ * discarded and closed as soon as it arrives. A request still waiting for a pool thread is not sent at all.
+ */
+class HedgingClient implements Client {
+
+    private final Client delegate;
+    private final Executor executor;
+    private final HedgeBudget budget;
+    private final LongAdder fired;
+    private final LongAdder won;
+
+    private final ConcurrentMap<Method, Optional<LatencyTracker>> trackers = new ConcurrentHashMap<>();
+
+    HedgingClient(Client delegate, Executor executor, HedgeBudget budget, LongAdder fired, LongAdder won) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.budget = budget;
+        this.fired = fired;
+        this.won = won;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        final LatencyTracker tracker = trackerOf(request);
+        if (tracker == null) {
+            return delegate.execute(request, options);
+        }
+
+        budget.deposit();
+
+        final CompletableFuture<Response> primary;
+        try {
+            primary = submit(request, options, tracker);
+        } catch (RejectedExecutionException e) {
+            return delegate.execute(request, options);
+        }
+
+        try {
+            return primary.get(tracker.delayNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return hedge(request, options, tracker, primary);
+        } catch (InterruptedException e) {
+            primary.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the response", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private Response hedge(Request request, Request.Options options, LatencyTracker tracker, CompletableFuture<Response> primary)
+        throws IOException {
+        final CompletableFuture<Response> hedge;
+        try {
+            hedge = budget.tryWithdraw() ? submit(request, options, tracker) : null;
+        } catch (RejectedExecutionException e) {
+            return await(primary);
+        }
+
+        if (hedge == null) {
+            return await(primary);
+        }
+        fired.increment();
+
+        final CompletableFuture<Response> winner = new CompletableFuture<>();
+        final AtomicInteger failures = new AtomicInteger();
+
+        primary.whenComplete((response, failure) -> complete(winner, response, failure, failures, hedge, false));
+        hedge.whenComplete((response, failure) -> complete(winner, response, failure, failures, primary, true));
+
+        return await(winner);
+    }
+
+    private void complete(
+        CompletableFuture<Response> winner, Response response, Throwable failure, AtomicInteger failures,
+        CompletableFuture<Response> other, boolean isHedge
+    ) {
+        if (failure != null) {
+            if (failures.incrementAndGet() == 2) {
+                winner.completeExceptionally(failure);
+            }
+            return;
+        }
+
+        if (winner.complete(response)) {
+            // Skips the other request if it did not start yet, otherwise its response is closed on arrival
+            other.cancel(false);
+            if (isHedge) {
+                won.increment();
+            }
+        } else {
+            response.close();
+        }
+    }
+
+    private CompletableFuture<Response> submit(Request request, Request.Options options, LatencyTracker tracker) {
+        final CompletableFuture<Response> future = new CompletableFuture<>();
+
+        final Runnable call = () -> {
+            if (future.isDone()) {
+                return;
+            }
+
+            final long start = System.nanoTime();
+            try {
+                final Response response = delegate.execute(request, options);
+                tracker.record(System.nanoTime() - start);
+
+                if (!future.complete(response)) {
+                    // Lost the race or abandoned by the caller, release the connection
+                    response.close();
+                }
+            } catch (IOException | RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        };
+
+        final Runnable withSecurityContext = AuthorizationContext.current()
+            .map(context -> context.wrap(call))
+            .orElseGet(() -> new DelegatingSecurityContextRunnable(call));
+        executor.execute(withMdc(withSecurityContext));
+
+        return future;
+    }
+
+    private static Runnable withMdc(Runnable task) {
+        final Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+        return () -> {
+            final Map<String, String> previous = MDC.getCopyOfContextMap();
+            setMdc(mdc);
+            try {
+                task.run();
+            } finally {
+                setMdc(previous);
+            }
+        };
+    }
+
+    private static void setMdc(Map<String, String> contextMap) {
+        if (contextMap != null) {
+            MDC.setContextMap(contextMap);
+        } else {
+            MDC.clear();
+        }
+    }
+
+    private static Response await(CompletableFuture<Response> response) throws IOException {
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            response.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the response", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static IOException unwrap(ExecutionException e) {
+        final Throwable cause = e.getCause();
+
+        if (cause instanceof IOException ioException) {
+            return ioException;
+        } else if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        } else if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IOException(cause);
+    }
+
+    private LatencyTracker trackerOf(Request request) {
+        if (request.requestTemplate() == null || request.requestTemplate().methodMetadata() == null) {
+            return null;
+        }
+
+        final Method method = request.requestTemplate().methodMetadata().method();
+        if (method == null) {
+            return null;
+        }
+
+        return trackers.computeIfAbsent(method, m -> Optional.ofNullable(m.getAnnotation(HedgedRequest.class))
+                .map(hedgedRequest -> new LatencyTracker(
+                    hedgedRequest.percentile(),
+                    Duration.parse(hedgedRequest.minDelay()).toNanos(),
+                    Duration.parse(hedgedRequest.maxDelay()).toNanos()
+                )))
+            .orElse(null);
+    }
+}
@@ -0,0 +1,58 @@
+package com.sme.finance.core.client.hedge;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding sample of recent call latencies with a periodically recomputed percentile.
+ */
+class LatencyTracker {
+
+    private static final int SIZE = 256;
+    private static final int MASK = SIZE - 1;
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+
+    private final AtomicLongArray samples = new AtomicLongArray(SIZE);
+    private final AtomicLong recorded = new AtomicLong();
+    private volatile long delayNanos;
+
+    LatencyTracker(double percentile, long minDelayNanos, long maxDelayNanos) {
+        this.percentile = percentile;
+        this.minDelayNanos = minDelayNanos;
+        this.maxDelayNanos = maxDelayNanos;
+        this.delayNanos = maxDelayNanos;
+    }
+
+    void record(long latencyNanos) {
+        final long index = recorded.getAndIncrement();
+        samples.set((int) (index & MASK), latencyNanos);
+
+        final long count = index + 1;
+        if (count % RECOMPUTE_EVERY == 0) {
+            recompute((int) Math.min(count, SIZE));
+        }
+    }
+
+    /**
+     * @return the delay after which a hedge is sent.
+     */
+    long delayNanos() {
+        return delayNanos;
+    }
+
+    private void recompute(int size) {
+        final long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+
+        final int index = Math.min(size - 1, (int) Math.ceil(percentile / 100.0 * size) - 1);
+        delayNanos = Math.max(minDelayNanos, Math.min(maxDelayNanos, sorted[Math.max(0, index)]));
+    }
+}
@@ -0,0 +1,193 @@
+package com.sme.finance.core.client.metrics;
+
+import feign.Capability;
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Feign {@link Capability} recording latency, outcome and payload sizes of every client method.
+ * <p>
+ * Meters are tagged by client and method and created once per method, so recording a call only looks up
+ * the method's meters and does not allocate tags. Timers are registered per outcome on its first occurrence.
+ * <ul>
+ *     <li>{@code sme.client.requests}: timer tagged by status class or {@code IO_ERROR}, with an optional percentile histogram.</li>
+ *     <li>{@code sme.client.request.size} and {@code sme.client.response.size}: body sizes in bytes.</li>
+ * </ul>
+ * Response bodies without a declared length are counted as they are read.
+ */
+public class FeignMetricsCapability implements Capability {
+
+    private static final String[] OUTCOMES = {"INFORMATIONAL", "SUCCESS", "REDIRECTION", "CLIENT_ERROR", "SERVER_ERROR", "UNKNOWN", "IO_ERROR"};
+    private static final int UNKNOWN = 5;
+    private static final int IO_ERROR = 6;
+
+    private final MeterRegistry registry;
+    private final String clientName;
+    private final boolean percentileHistogram;
+
+    private final ConcurrentMap<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public FeignMetricsCapability(MeterRegistry registry, String clientName, boolean percentileHistogram) {
+        this.registry = registry;
+        this.clientName = clientName;
+        this.percentileHistogram = percentileHistogram;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            final MethodMeters methodMeters = metersOf(request);
+            if (methodMeters == null) {
+                return client.execute(request, options);
+            }
+
+            if (request.body() != null) {
+                methodMeters.requestSize.record(request.body().length);
+            }
+
+            final long start = System.nanoTime();
+            final Response response;
+            try {
+                response = client.execute(request, options);
+            } catch (IOException | RuntimeException e) {
+                methodMeters.timer(IO_ERROR).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+            methodMeters.timer(outcomeOf(response.status())).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            return recordResponseSize(response, methodMeters.responseSize);
+        };
+    }
+
+    private MethodMeters metersOf(Request request) {
+        final MethodMetadata metadata = request.requestTemplate() != null ? request.requestTemplate().methodMetadata() : null;
+        if (metadata == null || metadata.method() == null) {
+            return null;
+        }
+
+        return meters.computeIfAbsent(metadata.method(), method -> new MethodMeters(metadata.configKey()));
+    }
+
+    private static Response recordResponseSize(Response response, DistributionSummary responseSize) throws IOException {
+        if (response.body() == null) {
+            return response;
+        }
+
+        final Integer length = response.body().length();
+        if (length != null) {
+            responseSize.record(length);
+            return response;
+        }
+
+        return response.toBuilder().body(new CountingInputStream(response.body().asInputStream(), responseSize), null).build();
+    }
+
+    private static int outcomeOf(int status) {
+        final int statusClass = status / 100;
+        return statusClass >= 1 && statusClass <= 5 ? statusClass - 1 : UNKNOWN;
+    }
+
+    private final class MethodMeters {
+
+        private final String method;
+        private final AtomicReferenceArray<Timer> timers = new AtomicReferenceArray<>(OUTCOMES.length);
+        private final DistributionSummary requestSize;
+        private final DistributionSummary responseSize;
+
+        private MethodMeters(String method) {
+            this.method = method;
+            this.requestSize = DistributionSummary.builder("sme.client.request.size")
+                .baseUnit("bytes")
+                .tag("client", clientName)
+                .tag("method", method)
+                .register(registry);
+            this.responseSize = DistributionSummary.builder("sme.client.response.size")
+                .baseUnit("bytes")
+                .tag("client", clientName)
+                .tag("method", method)
+                .register(registry);
+        }
+
+        private Timer timer(int outcome) {
+            final Timer timer = timers.get(outcome);
+            if (timer != null) {
+                return timer;
+            }
+
+            // Registration is idempotent, concurrent first calls end up with the same timer
+            final Timer registered = Timer.builder("sme.client.requests")
+                .description("Feign client calls")
+                .tag("client", clientName)
+                .tag("method", method)
+                .tag("outcome", OUTCOMES[outcome])
+                .publishPercentileHistogram(percentileHistogram)
+                .register(registry);
+            timers.set(outcome, registered);
+
+            return registered;
+        }
+    }
+
+    /**
+     * Stream recording the number of bytes read once closed.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final DistributionSummary summary;
+        private long count;
+        private boolean recorded;
+
+        private CountingInputStream(InputStream in, DistributionSummary summary) {
+            super(in);
+            this.summary = summary;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int value = super.read();
+            if (value >= 0) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            final int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            final long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!recorded) {
+                recorded = true;
+                summary.record(count);
+            }
+            super.close();
+        }
+    }
+}
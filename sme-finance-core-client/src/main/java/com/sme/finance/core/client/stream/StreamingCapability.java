@@ -0,0 +1,122 @@
+package com.sme.finance.core.client.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Capability;
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+import feign.codec.Decoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Feign {@link Capability} decoding {@code Stream<T>} and {@code Iterator<T>} results element by element.
+ * <p>
+ * Only methods returning a stream or an iterator are affected: their response body is handed over to the
+ * {@link StreamingDecoder}, so that Feign does not close it after decoding, and the consumer closes it instead.
+ * Other methods keep the client's decoder and Feign's response handling unchanged.
+ */
+public class StreamingCapability implements Capability {
+
+    private final ObjectMapper objectMapper;
+
+    public StreamingCapability(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            final Response response = client.execute(request, options);
+            if (!isStreaming(request) || response.body() == null) {
+                return response;
+            }
+
+            return response.toBuilder().body(new DetachableBody(response.body())).build();
+        };
+    }
+
+    @Override
+    public Decoder enrich(Decoder decoder) {
+        return new StreamingDecoder(decoder, objectMapper);
+    }
+
+    static boolean isStreaming(Type type) {
+        final Class<?> rawType = rawTypeOf(type);
+        return rawType == Stream.class || rawType == Iterator.class;
+    }
+
+    static Class<?> rawTypeOf(Type type) {
+        if (type instanceof ParameterizedType parameterizedType && parameterizedType.getRawType() instanceof Class<?> rawType) {
+            return rawType;
+        }
+        return type instanceof Class<?> rawType ? rawType : null;
+    }
+
+    private static boolean isStreaming(Request request) {
+        final MethodMetadata metadata = request.requestTemplate() != null ? request.requestTemplate().methodMetadata() : null;
+        return metadata != null && isStreaming(metadata.returnType());
+    }
+
+    /**
+     * Body ignoring Feign's close after decoding once the decoder took it over.
+     */
+    static final class DetachableBody implements Response.Body {
+
+        private final Response.Body delegate;
+        private volatile boolean detached;
+
+        private DetachableBody(Response.Body delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * @return the underlying body, now owned by the caller.
+         */
+        Response.Body detach() {
+            detached = true;
+            return delegate;
+        }
+
+        @Override
+        public Integer length() {
+            return delegate.length();
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return delegate.isRepeatable();
+        }
+
+        @Override
+        public InputStream asInputStream() throws IOException {
+            return delegate.asInputStream();
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public Reader asReader() throws IOException {
+            return delegate.asReader();
+        }
+
+        @Override
+        public Reader asReader(Charset charset) throws IOException {
+            return delegate.asReader(charset);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!detached) {
+                delegate.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.sme.finance.core.client.stream;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Response;
+import feign.codec.Decoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link Decoder} returning {@code Stream<T>} and {@code Iterator<T>} results element by element.
+ * <p>
+ * A JSON array body, or a sequence of root-level values, is parsed lazily from the response input stream with
+ * Jackson's streaming API, so memory use does not grow with the response size. The response stays open until
+ * the stream is closed or the iterator is exhausted: consume streams within try-with-resources. Other return types
+ * are decoded by the delegate. The body is only kept open when {@link StreamingCapability} handed it over; otherwise
+ * it is buffered, since Feign closes it after decoding.
+ */
+public class StreamingDecoder implements Decoder {
+
+    private final Decoder delegate;
+    private final ObjectMapper objectMapper;
+
+    public StreamingDecoder(Decoder delegate, ObjectMapper objectMapper) {
+        this.delegate = delegate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        if (!StreamingCapability.isStreaming(type)) {
+            return delegate.decode(response, type);
+        }
+
+        final Class<?> rawType = StreamingCapability.rawTypeOf(type);
+        final ClosingIterator<Object> iterator = iterate(response, elementTypeOf(type));
+        if (rawType == Iterator.class) {
+            return iterator;
+        }
+
+        return StreamSupport
+            .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+            .onClose(iterator::closeUnchecked);
+    }
+
+    private ClosingIterator<Object> iterate(Response response, Type elementType) throws IOException {
+        if (response.status() == 204 || response.status() == 404 || response.body() == null) {
+            return new ClosingIterator<>(Collections.emptyIterator(), response);
+        }
+
+        final Closeable body;
+        final InputStream inputStream;
+        if (response.body() instanceof StreamingCapability.DetachableBody detachable) {
+            final Response.Body detached = detachable.detach();
+            body = detached;
+            inputStream = detached.asInputStream();
+        } else {
+            body = response;
+            try (InputStream buffered = response.body().asInputStream()) {
+                inputStream = new ByteArrayInputStream(buffered.readAllBytes());
+            }
+        }
+
+        final JavaType javaType = objectMapper.getTypeFactory().constructType(elementType);
+        try {
+            final MappingIterator<Object> values = objectMapper.readerFor(javaType).readValues(inputStream);
+            return new ClosingIterator<>(values, body);
+        } catch (IOException | RuntimeException e) {
+            closeSuppressed(body, e);
+            throw e;
+        }
+    }
+
+    private static Type elementTypeOf(Type type) {
+        return type instanceof ParameterizedType parameterizedType ? parameterizedType.getActualTypeArguments()[0] : Object.class;
+    }
+
+    /**
+     * Iterator releasing the response body once exhausted or closed.
+     */
+    private static final class ClosingIterator<T> implements Iterator<T>, Closeable {
+
+        private final Iterator<T> delegate;
+        private final Closeable body;
+
+        private ClosingIterator(Iterator<T> delegate, Closeable body) {
+            this.delegate = delegate;
+            this.body = body;
+        }
+
+        @Override
+        public boolean hasNext() {
+            final boolean hasNext;
+            try {
+                hasNext = delegate.hasNext();
+            } catch (RuntimeException e) {
+                closeSuppressed(this, e);
+                throw e;
+            }
+
+            if (!hasNext) {
+                closeUnchecked();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            try {
+                return delegate.next();
+            } catch (RuntimeException e) {
+                closeSuppressed(this, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (delegate instanceof Closeable closeable) {
+                    closeable.close();
+                }
+            } finally {
+                body.close();
+            }
+        }
+
+        private void closeUnchecked() {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Close the resource after a failure, keeping the failure as the exception to rethrow.
+     */
+    private static void closeSuppressed(Closeable closeable, Exception failure) {
+        try {
+            closeable.close();
+        } catch (IOException | RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.sme.finance.core.client.transport;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Gauges of the Feign connection pool; pending requests above zero mean the pool is saturated.
+ */
+public class ConnectionPoolMetrics implements MeterBinder {
+
+    private static final String PREFIX = "sme.client.pool.";
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    public ConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gauge(registry, "leased", "Connections in use", PoolStats::getLeased);
+        gauge(registry, "available", "Idle connections kept alive", PoolStats::getAvailable);
+        gauge(registry, "pending", "Requests waiting for a connection", PoolStats::getPending);
+        gauge(registry, "max", "Maximum number of connections", PoolStats::getMax);
+    }
+
+    private void gauge(MeterRegistry registry, String name, String description, ToDoubleFunction<PoolStats> value) {
+        Gauge.builder(PREFIX + name, connectionManager, manager -> value.applyAsDouble(manager.getTotalStats()))
+            .description(description)
+            .register(registry);
+    }
+}
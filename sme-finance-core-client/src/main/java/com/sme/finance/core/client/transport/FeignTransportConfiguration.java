@@ -0,0 +1,84 @@
+package com.sme.finance.core.client.transport;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Pooled keep-alive transport of the Feign clients.
+ * <p>
+ * Replaces the connection manager and the HTTP client of Spring Cloud's Apache HttpClient 5 support, enabled with
+ * {@code feign.httpclient.hc5.enabled=true}, by ones with per-route limits, a bounded wait for a pooled connection
+ * and eviction of idle connections. The per-client connect and read timeouts remain those of
+ * {@code feign.client.config}; the socket timeout below applies where they are not set.
+ */
+@Configuration
+@AutoConfigureBefore(FeignAutoConfiguration.class)
+@ConditionalOnClass(name = "feign.hc5.ApacheHttp5Client")
+@ConditionalOnProperty(value = "feign.httpclient.hc5.enabled", havingValue = "true")
+public class FeignTransportConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(HttpClientConnectionManager.class)
+    public PoolingHttpClientConnectionManager hc5ConnectionManager(
+        @Value("${sme.client.transport.max-connections:200}") int maxConnections,
+        @Value("${sme.client.transport.max-connections-per-route:50}") int maxConnectionsPerRoute,
+        @Value("${sme.client.transport.time-to-live:PT5M}") Duration timeToLive,
+        @Value("${sme.client.transport.validate-after-inactivity:PT2S}") Duration validateAfterInactivity,
+        @Value("${sme.client.transport.socket-timeout:PT10S}") Duration socketTimeout
+    ) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(maxConnections)
+            .setMaxConnPerRoute(maxConnectionsPerRoute)
+            .setConnectionTimeToLive(TimeValue.ofMilliseconds(timeToLive.toMillis()))
+            .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivity.toMillis()))
+            .setDefaultSocketConfig(SocketConfig.custom().setSoTimeout(Timeout.ofMilliseconds(socketTimeout.toMillis())).build())
+            .build();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(CloseableHttpClient.class)
+    public CloseableHttpClient httpClient5(
+        HttpClientConnectionManager connectionManager,
+        @Value("${sme.client.transport.connect-timeout:PT2S}") Duration connectTimeout,
+        @Value("${sme.client.transport.connection-request-timeout:PT2S}") Duration connectionRequestTimeout,
+        @Value("${sme.client.transport.idle-timeout:PT30S}") Duration idleTimeout
+    ) {
+        final RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+            .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeout.toMillis()))
+            .build();
+
+        return HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeout.toMillis()))
+            .build();
+    }
+
+    @Bean
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    @ConditionalOnBean(PoolingHttpClientConnectionManager.class)
+    public MeterBinder feignConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        return new ConnectionPoolMetrics(connectionManager);
+    }
+}
@@ -0,0 +1,252 @@
+package com.sme.finance.core.error;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.sme.finance.core.error.exception.AbstractAlertException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Deduplicates error logging during error storms.
+ * <p>
+ * Occurrences are grouped by fingerprint: the exception type, its top stack frames and the response status.
+ * The first {@code limit} occurrences of a fingerprint are logged in every window, the others are only counted.
+ * The number of suppressed occurrences is logged with the first occurrence of the next window, or when the
+ * fingerprint expires after {@value #EXPIRY_WINDOWS} windows without occurrence, so the tail of a storm is reported.
+ * At most {@code maxFingerprints} fingerprints are tracked, the least used ones are evicted to make room for new ones.
+ * <p>
+ * Alert exceptions are fingerprinted without stack frames, as they have none in lightweight mode: all occurrences
+ * of an alert exception type with a given status share one fingerprint, whatever the mode.
+ * <p>
+ * Bound to a {@link MeterRegistry}, the occurrences and suppressed occurrences are published as
+ * {@code sme.error.occurrences} and {@code sme.error.log.suppressed} counters tagged by exception type and status.
+ */
+@Slf4j
+public final class ErrorLogSampler implements MeterBinder {
+
+    static final int EXPIRY_WINDOWS = 3;
+
+    private static final long SUPPRESSED = -1L;
+
+    private final boolean enabled;
+    private final int limit;
+    private final long windowNanos;
+    private final int frames;
+    private final LongSupplier clock;
+    private final Cache<Fingerprint, Occurrences> occurrences;
+    private final ConcurrentMap<Group, GroupCounts> groups = new ConcurrentHashMap<>();
+
+    private volatile MeterRegistry registry;
+
+    ErrorLogSampler(boolean enabled, int limit, Duration window, int frames, int maxFingerprints, LongSupplier clock) {
+        Assert.isTrue(limit > 0, "Limit should be positive.");
+        Assert.isTrue(!window.isNegative() && !window.isZero(), "Window should be positive.");
+        Assert.isTrue(frames >= 0, "Frames should not be negative.");
+
+        this.enabled = enabled;
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.frames = frames;
+        this.clock = clock;
+        this.occurrences = Caffeine.newBuilder()
+            .maximumSize(maxFingerprints)
+            .expireAfterAccess(window.multipliedBy(EXPIRY_WINDOWS))
+            .ticker(clock::getAsLong)
+            .scheduler(Scheduler.systemScheduler())
+            .removalListener(this::onRemoval)
+            .build();
+    }
+
+    /**
+     * Build a sampler logging the first {@code limit} occurrences of each fingerprint per window.
+     *
+     * @param limit           the number of occurrences of a fingerprint logged per window.
+     * @param window          the duration of the window.
+     * @param frames          the number of top stack frames in the fingerprint.
+     * @param maxFingerprints the maximum number of tracked fingerprints.
+     * @return the sampler.
+     */
+    public static ErrorLogSampler of(int limit, Duration window, int frames, int maxFingerprints) {
+        return new ErrorLogSampler(true, limit, window, frames, maxFingerprints, System::nanoTime);
+    }
+
+    /**
+     * @return a sampler logging every occurrence.
+     */
+    public static ErrorLogSampler disabled() {
+        return new ErrorLogSampler(false, 1, Duration.ofMinutes(1), 0, 0, System::nanoTime);
+    }
+
+    /**
+     * Record an occurrence and decide whether to log it.
+     *
+     * @param throwable the exception.
+     * @param status    the response status code.
+     * @return true if the occurrence should be logged, false if it is only counted.
+     */
+    public boolean sample(Throwable throwable, int status) {
+        if (!enabled) {
+            return true;
+        }
+
+        final Fingerprint fingerprint = Fingerprint.of(throwable, status, frames);
+        final GroupCounts counts = countsOf(fingerprint);
+        counts.occurrences.increment();
+
+        final long now = clock.getAsLong();
+        final long carried = occurrences.get(fingerprint, key -> new Occurrences(now)).record(now, windowNanos, limit);
+
+        if (carried == SUPPRESSED) {
+            counts.suppressed.increment();
+            return false;
+        }
+        if (carried > 0L) {
+            log.warn("Suppressed {} occurrences of {}", carried, fingerprint);
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of occurrences of the tracked fingerprints, keyed by the fingerprint description.
+     */
+    public Map<String, Long> counts() {
+        return occurrences.asMap().entrySet().stream()
+            .collect(Collectors.toMap(entry -> entry.getKey().toString(), entry -> entry.getValue().total.sum(), Long::sum));
+    }
+
+    /**
+     * @return the total number of occurrences not logged.
+     */
+    public long suppressed() {
+        return groups.values().stream().mapToLong(counts -> counts.suppressed.sum()).sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        this.registry = meterRegistry;
+        groups.forEach(this::register);
+    }
+
+    private GroupCounts countsOf(Fingerprint fingerprint) {
+        final Group group = new Group(fingerprint.type().getName(), fingerprint.status());
+        final GroupCounts counts = groups.get(group);
+        if (counts != null) {
+            return counts;
+        }
+
+        return groups.computeIfAbsent(group, key -> {
+            final GroupCounts created = new GroupCounts();
+            register(key, created);
+            return created;
+        });
+    }
+
+    private void register(Group group, GroupCounts counts) {
+        final MeterRegistry meterRegistry = registry;
+        if (meterRegistry == null) {
+            return;
+        }
+
+        FunctionCounter.builder("sme.error.occurrences", counts.occurrences, LongAdder::sum)
+            .description("Errors translated to problem responses")
+            .tag("exception", group.type())
+            .tag("status", String.valueOf(group.status()))
+            .register(meterRegistry);
+        FunctionCounter.builder("sme.error.log.suppressed", counts.suppressed, LongAdder::sum)
+            .description("Errors not logged by the error log sampling")
+            .tag("exception", group.type())
+            .tag("status", String.valueOf(group.status()))
+            .register(meterRegistry);
+    }
+
+    private void onRemoval(Fingerprint fingerprint, Occurrences entry, RemovalCause cause) {
+        if (fingerprint == null || entry == null) {
+            return;
+        }
+
+        final long suppressed = entry.suppressedInWindow.getAndSet(0L);
+        if (suppressed > 0L) {
+            log.warn("Suppressed {} occurrences of {}", suppressed, fingerprint);
+        }
+    }
+
+    private static final class Occurrences {
+
+        private final AtomicLong windowStart;
+        private final AtomicInteger inWindow = new AtomicInteger();
+        private final AtomicLong suppressedInWindow = new AtomicLong();
+        private final LongAdder total = new LongAdder();
+
+        Occurrences(long now) {
+            this.windowStart = new AtomicLong(now);
+        }
+
+        /**
+         * @return {@link #SUPPRESSED} if the occurrence should not be logged, otherwise the number of occurrences
+         * suppressed in the previous window.
+         */
+        long record(long now, long windowNanos, int limit) {
+            total.increment();
+
+            long carried = 0L;
+            final long start = windowStart.get();
+            if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+                carried = suppressedInWindow.getAndSet(0L);
+                inWindow.set(0);
+            }
+
+            if (inWindow.incrementAndGet() > limit) {
+                suppressedInWindow.addAndGet(carried + 1L);
+                return SUPPRESSED;
+            }
+            return carried;
+        }
+    }
+
+    private record Group(String type, int status) {
+    }
+
+    private record GroupCounts(LongAdder occurrences, LongAdder suppressed) {
+
+        GroupCounts() {
+            this(new LongAdder(), new LongAdder());
+        }
+    }
+
+    private record Fingerprint(Class<?> type, List<StackTraceElement> frames, int status) {
+
+        static Fingerprint of(Throwable throwable, int status, int frames) {
+            if (throwable instanceof AbstractAlertException) {
+                return new Fingerprint(throwable.getClass(), List.of(), status);
+            }
+
+            final StackTraceElement[] stackTrace = throwable.getStackTrace();
+            return new Fingerprint(
+                throwable.getClass(), Arrays.asList(Arrays.copyOf(stackTrace, Math.min(frames, stackTrace.length))), status
+            );
+        }
+
+        @Override
+        public String toString() {
+            final String top = frames.isEmpty() ? "" : "@" + frames.get(0);
+            return type.getName() + top + " " + status;
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.sme.finance.core.error;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.util.ClassUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -43,14 +47,48 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
     private static final String VIOLATIONS_KEY = "violations";
     private static final String FIELD_ERRORS_KEY = "fieldErrors";
     private static final String SPRING_PROFILE_PRODUCTION = "prod";
+    private static final String[] HTTP_MESSAGE_KEYS = httpMessageKeys();
 
-    private final Environment env;
+    private static final ClassValue<DetailPolicy> DETAIL_POLICIES = new ClassValue<>() {
+        @Override
+        protected DetailPolicy computeValue(Class<?> type) {
+            return DetailPolicy.of(type);
+        }
+    };
+
+    private final boolean production;
+    private final MessageSanitizer sanitizer;
+    private final ProblemTemplate concurrencyFailureTemplate;
+    private final ProblemTemplate serverErrorTemplate;
+    private final ErrorLogSampler logSampler;
+    private final boolean templatesEnabled;
 
     @Value("${spring.application.name}")
     private String applicationName;
 
     public ExceptionTranslator(Environment env) {
-        this.env = env;
+        this(env, MessageSanitizer.defaults());
+    }
+
+    public ExceptionTranslator(Environment env, MessageSanitizer sanitizer) {
+        this(env, sanitizer, new ObjectMapper());
+    }
+
+    public ExceptionTranslator(Environment env, MessageSanitizer sanitizer, ObjectMapper objectMapper) {
+        this(env, sanitizer, objectMapper, ErrorLogSampler.disabled());
+    }
+
+    public ExceptionTranslator(Environment env, MessageSanitizer sanitizer, ObjectMapper objectMapper, ErrorLogSampler logSampler) {
+        this.logSampler = logSampler;
+        this.production = Arrays.asList(env.getActiveProfiles()).contains(SPRING_PROFILE_PRODUCTION);
+        this.sanitizer = sanitizer;
+        this.concurrencyFailureTemplate = ProblemTemplate.of(
+            objectMapper, path -> staticProblem(Status.CONFLICT, ErrorConstants.ERR_CONCURRENCY_FAILURE, path)
+        );
+        this.serverErrorTemplate = ProblemTemplate.of(
+            objectMapper, path -> staticProblem(Status.INTERNAL_SERVER_ERROR, ErrorConstants.ERR_SERVER, path)
+        );
+        this.templatesEnabled = !overridesProcess(ClassUtils.getUserClass(getClass()));
     }
 
     /**
@@ -89,7 +127,7 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
             problem.getParameters().forEach(builder::with);
 
             if (!problem.getParameters().containsKey(MESSAGE_KEY) && problem.getStatus() != null) {
-                builder.with(MESSAGE_KEY, "error.http." + problem.getStatus().getStatusCode());
+                builder.with(MESSAGE_KEY, httpMessageKey(problem.getStatus().getStatusCode()));
             }
         }
         return new ResponseEntity<>(builder.build(), entity.getHeaders(), entity.getStatusCode());
@@ -123,6 +161,11 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
 
     @ExceptionHandler
     public ResponseEntity<Problem> handleConcurrencyFailure(ConcurrencyFailureException ex, NativeWebRequest request) {
+        final ResponseEntity<Problem> rendered = render(concurrencyFailureTemplate, ex, request);
+        if (rendered != null) {
+            return rendered;
+        }
+
         final Problem problem = Problem.builder()
             .withStatus(Status.CONFLICT)
             .with(MESSAGE_KEY, ErrorConstants.ERR_CONCURRENCY_FAILURE).build();
@@ -132,6 +175,11 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
 
     @ExceptionHandler
     public ResponseEntity<Problem> handleNullPointerException(NullPointerException ex, NativeWebRequest request) {
+        final ResponseEntity<Problem> rendered = render(serverErrorTemplate, ex, request);
+        if (rendered != null) {
+            return rendered;
+        }
+
         final Problem problem = Problem.builder()
             .withStatus(Status.INTERNAL_SERVER_ERROR)
             .with(MESSAGE_KEY, ErrorConstants.ERR_SERVER).build();
@@ -139,58 +187,123 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
         return create(ex, problem, request);
     }
 
+    /**
+     * Log the first occurrences of each error fingerprint per window and only count the others.
+     */
     @Override
-    public ProblemBuilder prepare(final Throwable throwable, final StatusType status, final URI type) {
-        final List<String> activeProfiles = Arrays.asList(env.getActiveProfiles());
+    public void log(Throwable throwable, Problem problem, NativeWebRequest request, HttpStatus status) {
+        if (logSampler.sample(throwable, status.value())) {
+            ProblemHandling.super.log(throwable, problem, request, status);
+        }
+    }
 
-        final ThrowableProblem throwableProblem = Optional.ofNullable(throwable.getCause())
-            .filter(cause -> isCausalChainsEnabled())
-            .map(this::toProblem)
-            .orElse(null);
+    /**
+     * Render the pre-encoded problem, skipping the builder and the serialization of the problem.
+     * <p>
+     * Templates are only used while {@link #process} is not overridden, since they encode its result.
+     *
+     * @return the response, or null if the problem should be created and processed.
+     */
+    @Nullable
+    private ResponseEntity<Problem> render(ProblemTemplate template, Throwable throwable, NativeWebRequest request) {
+        final HttpServletRequest nativeRequest = request.getNativeRequest(HttpServletRequest.class);
+        if (!templatesEnabled || nativeRequest == null || !ProblemTemplate.isAcceptable(request.getHeader(HttpHeaders.ACCEPT))) {
+            return null;
+        }
 
-        if (activeProfiles.contains(SPRING_PROFILE_PRODUCTION)) {
-            if (throwable instanceof HttpMessageConversionException) {
-                return Problem
-                    .builder()
-                    .withType(type)
-                    .withTitle(status.getReasonPhrase())
-                    .withStatus(status)
-                    .withDetail("Unable to convert http message")
-                    .withCause(throwableProblem);
-            }
+        final Problem problem = template.render(nativeRequest.getRequestURI());
+        log(throwable, problem, request, template.status());
 
-            if (throwable instanceof DataAccessException) {
-                return Problem
-                    .builder()
-                    .withType(type)
-                    .withTitle(status.getReasonPhrase())
-                    .withStatus(status)
-                    .withDetail("Failure during data access")
-                    .withCause(throwableProblem);
-            }
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(ProblemTemplate.APPLICATION_PROBLEM_JSON);
+        return new ResponseEntity<>(problem, headers, template.status());
+    }
 
-            if (containsPackageName(throwable.getMessage())) {
-                return Problem
-                    .builder()
-                    .withType(type)
-                    .withTitle(status.getReasonPhrase())
-                    .withStatus(status)
-                    .withDetail("Unexpected runtime exception")
-                    .withCause(throwableProblem);
-            }
+    private static boolean overridesProcess(Class<?> type) {
+        try {
+            return type.getMethod("process", ResponseEntity.class, NativeWebRequest.class).getDeclaringClass() != ExceptionTranslator.class;
+        } catch (NoSuchMethodException e) {
+            return true;
         }
+    }
+
+    /**
+     * Problem as {@link #process} returns it for a problem having only a status and a message key.
+     */
+    private static Problem staticProblem(Status status, String messageKey, String path) {
+        return Problem.builder()
+            .withType(ErrorConstants.DEFAULT_TYPE)
+            .withStatus(status)
+            .with(PATH_KEY, path)
+            .with(MESSAGE_KEY, messageKey)
+            .build();
+    }
+
+    @Override
+    public ProblemBuilder prepare(final Throwable throwable, final StatusType status, final URI type) {
+        final ThrowableProblem throwableProblem = Optional.ofNullable(throwable.getCause())
+            .filter(cause -> isCausalChainsEnabled())
+            .map(this::toProblem)
+            .orElse(null);
 
         return Problem
             .builder()
             .withType(type)
             .withTitle(status.getReasonPhrase())
             .withStatus(status)
-            .withDetail(throwable.getMessage())
+            .withDetail(detailOf(throwable))
             .withCause(throwableProblem);
     }
 
-    private boolean containsPackageName(String message) {
-        // This list is for sure not complete
-        return StringUtils.containsAny(message, "org.", "java.", "net.", "javax.", "com.", "io.", "de.", "com.sme.finance.account");
+    /**
+     * Hide the details of the exceptions that may leak internals in production.
+     */
+    private String detailOf(Throwable throwable) {
+        if (!production) {
+            return throwable.getMessage();
+        }
+
+        final String detail = DETAIL_POLICIES.get(throwable.getClass()).detail;
+        if (detail != null) {
+            return detail;
+        }
+
+        return sanitizer.isSensitive(throwable.getMessage()) ? "Unexpected runtime exception" : throwable.getMessage();
+    }
+
+    private static String httpMessageKey(int statusCode) {
+        return statusCode >= 0 && statusCode < HTTP_MESSAGE_KEYS.length ? HTTP_MESSAGE_KEYS[statusCode] : "error.http." + statusCode;
+    }
+
+    private static String[] httpMessageKeys() {
+        final String[] keys = new String[600];
+        for (int statusCode = 0; statusCode < keys.length; statusCode++) {
+            keys[statusCode] = "error.http." + statusCode;
+        }
+        return keys;
+    }
+
+    /**
+     * Production detail of an exception class, resolved once per class.
+     */
+    private enum DetailPolicy {
+        CONVERSION("Unable to convert http message"),
+        DATA_ACCESS("Failure during data access"),
+        MESSAGE(null);
+
+        private final String detail;
+
+        DetailPolicy(String detail) {
+            this.detail = detail;
+        }
+
+        static DetailPolicy of(Class<?> type) {
+            if (HttpMessageConversionException.class.isAssignableFrom(type)) {
+                return CONVERSION;
+            } else if (DataAccessException.class.isAssignableFrom(type)) {
+                return DATA_ACCESS;
+            }
+            return MESSAGE;
+        }
     }
 }
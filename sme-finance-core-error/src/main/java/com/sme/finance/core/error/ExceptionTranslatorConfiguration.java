@@ -1,14 +1,58 @@
 package com.sme.finance.core.error;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
+import org.springframework.http.converter.HttpMessageConverter;
+
+import java.time.Duration;
+import java.util.List;
 
 @Configuration
 public class ExceptionTranslatorConfiguration {
 
     @Bean
-    public ExceptionTranslator exceptionTranslator(Environment environment) {
-        return new ExceptionTranslator(environment);
+    public static LightweightExceptionsInitializer lightweightExceptionsInitializer() {
+        return new LightweightExceptionsInitializer();
+    }
+
+    @Bean
+    public ExceptionTranslator exceptionTranslator(
+        Environment environment,
+        MessageSanitizer messageSanitizer,
+        ObjectProvider<ObjectMapper> objectMapper,
+        ErrorLogSampler errorLogSampler
+    ) {
+        return new ExceptionTranslator(environment, messageSanitizer, objectMapper.getIfAvailable(ObjectMapper::new), errorLogSampler);
+    }
+
+    /**
+     * Picked up by the Spring Boot message converters ahead of the default ones.
+     */
+    @Bean
+    public HttpMessageConverter<?> problemTemplateHttpMessageConverter() {
+        return new ProblemTemplateHttpMessageConverter();
+    }
+
+    @Bean
+    public ErrorLogSampler errorLogSampler(
+        @Value("${sme.error.log-sampling.enabled:false}") boolean enabled,
+        @Value("${sme.error.log-sampling.limit:10}") int limit,
+        @Value("${sme.error.log-sampling.window:PT1M}") Duration window,
+        @Value("${sme.error.log-sampling.frames:3}") int frames,
+        @Value("${sme.error.log-sampling.max-fingerprints:1000}") int maxFingerprints
+    ) {
+        return enabled ? ErrorLogSampler.of(limit, window, frames, maxFingerprints) : ErrorLogSampler.disabled();
+    }
+
+    @Bean
+    public MessageSanitizer messageSanitizer(
+        @Value("${sme.error.sanitizer.patterns:}") List<String> patterns,
+        @Value("${sme.error.sanitizer.max-length:" + MessageSanitizer.DEFAULT_MAX_LENGTH + "}") int maxLength
+    ) {
+        return MessageSanitizer.of(patterns, maxLength);
     }
 }
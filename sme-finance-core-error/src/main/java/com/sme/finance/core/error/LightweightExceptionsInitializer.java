@@ -0,0 +1,34 @@
+package com.sme.finance.core.error;
+
+import com.sme.finance.core.error.exception.AbstractAlertException;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+/**
+ * Applies {@code sme.error.lightweight-exceptions} to {@link AbstractAlertException} when the context starts,
+ * before any application bean is created.
+ * <p>
+ * The mode is JVM-wide: it is only changed when the property is set, so contexts sharing a JVM without the property
+ * keep the current mode instead of resetting it.
+ */
+public class LightweightExceptionsInitializer implements BeanFactoryPostProcessor, EnvironmentAware {
+
+    static final String PROPERTY = "sme.error.lightweight-exceptions";
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        final Boolean lightweight = environment.getProperty(PROPERTY, Boolean.class);
+        if (lightweight != null) {
+            AbstractAlertException.setLightweight(lightweight);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.sme.finance.core.error;
+
+import org.springframework.util.Assert;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.stream.Stream;
+
+/**
+ * Detects messages that may leak internals or sensitive data and must not be returned to clients.
+ * <p>
+ * The literal patterns are compiled into a single Aho-Corasick automaton matching case-insensitively, so a message
+ * is scanned once whatever the number of patterns. Card-number-like digit runs and IBAN-like tokens are detected
+ * in the same linear spirit. Only the first {@code maxLength} characters of a message are scanned.
+ */
+public final class MessageSanitizer {
+
+    /**
+     * Package prefixes of stack frames and class names.
+     */
+    public static final List<String> PACKAGE_PATTERNS = List.of("org.", "java.", "net.", "javax.", "com.", "io.", "de.");
+
+    /**
+     * Connection strings and SQL fragments of persistence errors.
+     */
+    public static final List<String> PERSISTENCE_PATTERNS = List.of(
+        "jdbc:", "sqlstate", "sql [", "insert into", "delete from", "select * from", "constraint [", "duplicate key",
+        "could not execute statement"
+    );
+
+    public static final int DEFAULT_MAX_LENGTH = 2048;
+
+    private static final int ALPHABET_LIMIT = 128;
+    private static final int MIN_DIGIT_RUN = 13;
+    private static final int MIN_IBAN_LENGTH = 15;
+
+    private final int maxLength;
+    private final byte[] symbols = new byte[ALPHABET_LIMIT];
+    private final int alphabetSize;
+    private final int[] transitions;
+    private final boolean[] accepting;
+
+    private MessageSanitizer(Collection<String> patterns, int maxLength) {
+        Assert.isTrue(maxLength > 0, "Maximum length should be positive.");
+        this.maxLength = maxLength;
+
+        final List<String> normalized = new ArrayList<>();
+        for (String pattern : patterns) {
+            Assert.hasLength(pattern, "Patterns should not be empty.");
+            Assert.isTrue(pattern.chars().allMatch(c -> c < ALPHABET_LIMIT), "Patterns should be ASCII: " + pattern);
+            normalized.add(pattern.toLowerCase(Locale.ROOT));
+        }
+
+        int size = 1;
+        for (String pattern : normalized) {
+            for (int i = 0; i < pattern.length(); i++) {
+                final char c = pattern.charAt(i);
+                if (symbols[c] == 0) {
+                    symbols[c] = (byte) size++;
+                }
+            }
+        }
+        this.alphabetSize = size;
+
+        final Automaton automaton = Automaton.build(normalized, symbols, alphabetSize);
+        this.transitions = automaton.transitions;
+        this.accepting = automaton.accepting;
+    }
+
+    /**
+     * @return a sanitizer with the package, persistence and number patterns.
+     */
+    public static MessageSanitizer defaults() {
+        return of(List.of(), DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * Build a sanitizer with the default patterns and the additional ones.
+     *
+     * @param additionalPatterns the additional literal patterns, matched case-insensitively.
+     * @param maxLength          the number of leading characters of a message to scan.
+     * @return the sanitizer.
+     */
+    public static MessageSanitizer of(Collection<String> additionalPatterns, int maxLength) {
+        final List<String> patterns = Stream.of(PACKAGE_PATTERNS, PERSISTENCE_PATTERNS, additionalPatterns)
+            .flatMap(Collection::stream)
+            .toList();
+
+        return new MessageSanitizer(patterns, maxLength);
+    }
+
+    /**
+     * Check if the message contains a pattern, a card-number-like digit run or an IBAN-like token.
+     *
+     * @param message the message to scan, may be null.
+     * @return true if the message should not be returned to clients, false otherwise.
+     */
+    public boolean isSensitive(String message) {
+        if (message == null) {
+            return false;
+        }
+
+        final int length = Math.min(message.length(), maxLength);
+        return matchesPattern(message, length) || containsAccountNumber(message, length);
+    }
+
+    private boolean matchesPattern(String message, int length) {
+        int state = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = message.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            }
+
+            final int symbol = c < ALPHABET_LIMIT ? symbols[c] : 0;
+            state = transitions[state * alphabetSize + symbol];
+            if (accepting[state]) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean containsAccountNumber(String message, int length) {
+        int digits = 0;
+
+        for (int i = 0; i < length; i++) {
+            final char c = message.charAt(i);
+
+            if (c >= '0' && c <= '9') {
+                if (++digits >= MIN_DIGIT_RUN) {
+                    return true;
+                }
+            } else if ((c == ' ' || c == '-') && digits > 0 && i + 1 < length && isDigit(message.charAt(i + 1))) {
+                // Grouped digits, such as 4111 1111 1111 1111, form one run
+                continue;
+            } else {
+                digits = 0;
+                if (isIbanStart(message, i, length)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isIbanStart(String message, int start, int length) {
+        if (start + MIN_IBAN_LENGTH > length || (start > 0 && Character.isLetterOrDigit(message.charAt(start - 1)))) {
+            return false;
+        }
+        if (!isUpper(message.charAt(start)) || !isUpper(message.charAt(start + 1))
+            || !isDigit(message.charAt(start + 2)) || !isDigit(message.charAt(start + 3))) {
+            return false;
+        }
+
+        for (int i = start + 4; i < start + MIN_IBAN_LENGTH; i++) {
+            final char c = message.charAt(i);
+            if (!isUpper(c) && !isDigit(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    /**
+     * Aho-Corasick automaton with the failure links folded into a complete transition table.
+     */
+    private record Automaton(int[] transitions, boolean[] accepting) {
+
+        static Automaton build(List<String> patterns, byte[] symbols, int alphabetSize) {
+            final List<int[]> gotos = new ArrayList<>();
+            final List<Boolean> outputs = new ArrayList<>();
+            gotos.add(new int[alphabetSize]);
+            outputs.add(false);
+
+            for (String pattern : patterns) {
+                int state = 0;
+                for (int i = 0; i < pattern.length(); i++) {
+                    final int symbol = symbols[pattern.charAt(i)];
+                    if (gotos.get(state)[symbol] == 0) {
+                        gotos.add(new int[alphabetSize]);
+                        outputs.add(false);
+                        gotos.get(state)[symbol] = gotos.size() - 1;
+                    }
+                    state = gotos.get(state)[symbol];
+                }
+                outputs.set(state, true);
+            }
+
+            final int stateCount = gotos.size();
+            final int[] fail = new int[stateCount];
+            final boolean[] accepting = new boolean[stateCount];
+            final int[] transitions = new int[stateCount * alphabetSize];
+            final Queue<Integer> queue = new ArrayDeque<>();
+
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                final int next = gotos.get(0)[symbol];
+                transitions[symbol] = next;
+                if (next != 0) {
+                    queue.add(next);
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                final int state = queue.remove();
+                accepting[state] = outputs.get(state) || accepting[fail[state]];
+
+                for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                    final int next = gotos.get(state)[symbol];
+                    if (next != 0) {
+                        fail[next] = transitions[fail[state] * alphabetSize + symbol];
+                        transitions[state * alphabetSize + symbol] = next;
+                        queue.add(next);
+                    } else {
+                        transitions[state * alphabetSize + symbol] = transitions[fail[state] * alphabetSize + symbol];
+                    }
+                }
+            }
+
+            return new Automaton(transitions, accepting);
+        }
+    }
+}
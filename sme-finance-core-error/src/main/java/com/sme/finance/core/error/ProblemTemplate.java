@@ -0,0 +1,202 @@
+package com.sme.finance.core.error;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.zalando.problem.Problem;
+import org.zalando.problem.StatusType;
+import org.zalando.problem.jackson.ProblemModule;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-encoded body of a problem whose fields are all fixed except for the request path.
+ * <p>
+ * The problem is serialized once with a placeholder path and split around it, so rendering a response only
+ * copies the two byte fragments around the JSON-escaped path instead of building and serializing the problem.
+ * The rendered {@link EncodedProblem} is written as is by {@link ProblemTemplateHttpMessageConverter}; any other
+ * converter serializes it like the problem it stands for.
+ */
+final class ProblemTemplate {
+
+    static final MediaType APPLICATION_PROBLEM_JSON = MediaType.parseMediaType("application/problem+json");
+
+    private static final String PATH_PLACEHOLDER = "__sme_problem_path__";
+
+    private final Problem problem;
+    private final HttpStatus status;
+    private final byte[] prefix;
+    private final byte[] suffix;
+
+    private ProblemTemplate(Problem problem, HttpStatus status, byte[] prefix, byte[] suffix) {
+        this.problem = problem;
+        this.status = status;
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    /**
+     * Encode the problem built by the factory for the placeholder path.
+     *
+     * @param objectMapper the mapper the problem responses are serialized with.
+     * @param factory      the problem built for a given path, as returned to clients.
+     * @return the template.
+     */
+    static ProblemTemplate of(ObjectMapper objectMapper, PathProblemFactory factory) {
+        final Problem problem = factory.create(PATH_PLACEHOLDER);
+        final byte[] json;
+        try {
+            json = objectMapper.copy().registerModule(new ProblemModule()).writeValueAsBytes(problem);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to encode the problem template", e);
+        }
+
+        final byte[] placeholder = PATH_PLACEHOLDER.getBytes(StandardCharsets.UTF_8);
+        final int index = indexOf(json, placeholder, 0);
+        if (index < 0 || indexOf(json, placeholder, index + placeholder.length) >= 0) {
+            throw new IllegalStateException("The problem template should contain the path exactly once");
+        }
+
+        final HttpStatus status = HttpStatus.valueOf(problem.getStatus().getStatusCode());
+        return new ProblemTemplate(
+            problem, status, Arrays.copyOf(json, index), Arrays.copyOfRange(json, index + placeholder.length, json.length)
+        );
+    }
+
+    HttpStatus status() {
+        return status;
+    }
+
+    /**
+     * Check if the request accepts the pre-encoded problem, i.e. has no Accept header or one compatible with
+     * JSON problems; other media types go through the content negotiation of the problem handling.
+     *
+     * @param accept the Accept header of the request, may be null.
+     * @return true if the template can be rendered, false if the response needs content negotiation.
+     */
+    static boolean isAcceptable(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+
+        try {
+            final List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            return mediaTypes.stream()
+                .anyMatch(mediaType -> mediaType.isCompatibleWith(APPLICATION_PROBLEM_JSON) || mediaType.isCompatibleWith(MediaType.APPLICATION_JSON));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Render the problem for the request path.
+     *
+     * @param path the request path.
+     * @return the encoded problem.
+     */
+    EncodedProblem render(String path) {
+        return new EncodedProblem(this, path, encode(path));
+    }
+
+    private byte[] encode(String path) {
+        final byte[] encodedPath = JsonStringEncoder.getInstance().quoteAsUTF8(path);
+        final byte[] body = new byte[prefix.length + encodedPath.length + suffix.length];
+
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        System.arraycopy(encodedPath, 0, body, prefix.length, encodedPath.length);
+        System.arraycopy(suffix, 0, body, prefix.length + encodedPath.length, suffix.length);
+
+        return body;
+    }
+
+    private static int indexOf(byte[] source, byte[] target, int from) {
+        for (int i = from; i <= source.length - target.length; i++) {
+            if (Arrays.equals(source, i, i + target.length, target, 0, target.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Builds the problem returned to clients for a request path.
+     */
+    @FunctionalInterface
+    interface PathProblemFactory {
+
+        Problem create(String path);
+    }
+
+    /**
+     * Problem of a template for a request path, exposing the same fields as the problem serialized for it.
+     */
+    static final class EncodedProblem implements Problem {
+
+        private final ProblemTemplate template;
+        private final String path;
+        private final byte[] body;
+
+        private EncodedProblem(ProblemTemplate template, String path, byte[] body) {
+            this.template = template;
+            this.path = path;
+            this.body = body;
+        }
+
+        /**
+         * @return the JSON body of the problem.
+         */
+        byte[] body() {
+            return body;
+        }
+
+        @Override
+        public URI getType() {
+            return template.problem.getType();
+        }
+
+        @Nullable
+        @Override
+        public String getTitle() {
+            return template.problem.getTitle();
+        }
+
+        @Nullable
+        @Override
+        public StatusType getStatus() {
+            return template.problem.getStatus();
+        }
+
+        @Nullable
+        @Override
+        public String getDetail() {
+            return template.problem.getDetail();
+        }
+
+        @Nullable
+        @Override
+        public URI getInstance() {
+            return template.problem.getInstance();
+        }
+
+        @Override
+        public Map<String, Object> getParameters() {
+            final Map<String, Object> parameters = new LinkedHashMap<>(template.problem.getParameters());
+            parameters.replaceAll((key, value) -> PATH_PLACEHOLDER.equals(value) ? path : value);
+            return parameters;
+        }
+
+        @Override
+        public String toString() {
+            return Problem.toString(this);
+        }
+    }
+}
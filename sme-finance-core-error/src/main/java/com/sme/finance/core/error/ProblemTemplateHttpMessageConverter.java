@@ -0,0 +1,48 @@
+package com.sme.finance.core.error;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+
+/**
+ * Writes the pre-encoded body of the problems rendered from a {@link ProblemTemplate}.
+ */
+class ProblemTemplateHttpMessageConverter extends AbstractHttpMessageConverter<ProblemTemplate.EncodedProblem> {
+
+    ProblemTemplateHttpMessageConverter() {
+        super(ProblemTemplate.APPLICATION_PROBLEM_JSON, MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(@Nonnull Class<?> clazz) {
+        return ProblemTemplate.EncodedProblem.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Nonnull
+    @Override
+    protected ProblemTemplate.EncodedProblem readInternal(@Nonnull Class<? extends ProblemTemplate.EncodedProblem> clazz,
+                                                          @Nonnull HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Encoded problems are write only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(@Nonnull ProblemTemplate.EncodedProblem problem, MediaType contentType) {
+        return (long) problem.body().length;
+    }
+
+    @Override
+    protected void writeInternal(@Nonnull ProblemTemplate.EncodedProblem problem, @Nonnull HttpOutputMessage outputMessage)
+        throws IOException {
+        outputMessage.getBody().write(problem.body());
+    }
+}
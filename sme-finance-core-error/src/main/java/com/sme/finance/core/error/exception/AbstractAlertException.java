@@ -0,0 +1,41 @@
+package com.sme.finance.core.error.exception;
+
+import org.zalando.problem.AbstractThrowableProblem;
+import org.zalando.problem.StatusType;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Base of the alert exceptions, expected problems thrown as part of the normal control flow.
+ * <p>
+ * In lightweight mode, enabled with {@code sme.error.lightweight-exceptions=true}, alert exceptions do not capture
+ * a stack trace, which makes throwing them about as cheap as returning. Their parameters are a shared immutable map.
+ */
+@SuppressWarnings("java:S110") // Inheritance tree of classes should not be too deep
+public abstract class AbstractAlertException extends AbstractThrowableProblem {
+
+    private static volatile boolean lightweight;
+
+    protected AbstractAlertException(URI type, String title, StatusType status, String detail) {
+        super(type, title, status, detail, null, null, Map.of());
+    }
+
+    /**
+     * Switch the lightweight mode of all alert exceptions.
+     *
+     * @param enabled true to skip the stack trace capture, false to capture it.
+     */
+    public static void setLightweight(boolean enabled) {
+        lightweight = enabled;
+    }
+
+    public static boolean isLightweight() {
+        return lightweight;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return lightweight ? this : super.fillInStackTrace();
+    }
+}
@@ -2,14 +2,13 @@ package com.sme.finance.core.error.exception;
 
 import com.sme.finance.core.error.ErrorConstants;
 import lombok.Getter;
-import org.zalando.problem.AbstractThrowableProblem;
 import org.zalando.problem.Status;
 
 import java.net.URI;
 
 @Getter
 @SuppressWarnings({"java:S110", "unused"}) // Inheritance tree of classes should not be too deep
-public class BadRequestAlertException extends AbstractThrowableProblem {
+public class BadRequestAlertException extends AbstractAlertException {
 
     public BadRequestAlertException(String detail) {
         this(ErrorConstants.DEFAULT_TYPE, detail);
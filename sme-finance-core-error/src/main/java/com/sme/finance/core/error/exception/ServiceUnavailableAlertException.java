@@ -0,0 +1,20 @@
+package com.sme.finance.core.error.exception;
+
+import com.sme.finance.core.error.ErrorConstants;
+import lombok.Getter;
+import org.zalando.problem.Status;
+
+import java.net.URI;
+
+@Getter
+@SuppressWarnings({"java:S110", "unused"}) // Inheritance tree of classes should not be too deep
+public class ServiceUnavailableAlertException extends AbstractAlertException {
+
+    public ServiceUnavailableAlertException(String detail) {
+        this(ErrorConstants.DEFAULT_TYPE, detail);
+    }
+
+    public ServiceUnavailableAlertException(URI type, String detail) {
+        super(type, "Service unavailable", Status.SERVICE_UNAVAILABLE, detail);
+    }
+}
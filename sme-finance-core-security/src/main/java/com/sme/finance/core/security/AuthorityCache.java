@@ -0,0 +1,52 @@
+package com.sme.finance.core.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.experimental.UtilityClass;
+import org.springframework.security.core.Authentication;
+
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Cache of the authorities resolved for each {@link Authentication} instance.
+ * <p>
+ * Entries are weakly keyed by the authentication instance itself, compared by identity, so a request resolves its
+ * authorities once no matter how many checks it runs, on whichever thread, and the entry goes away with the
+ * authentication instead of staying on pooled threads. Entries do not reference their authentication.
+ * The {@link AuthoritySet} encoding is built on first use and rebuilt when new authorities got registered.
+ */
+@UtilityClass
+class AuthorityCache {
+
+    private static final Cache<Authentication, Entry> ENTRIES = Caffeine.newBuilder().weakKeys().build();
+
+    static Set<String> resolve(Authentication authentication, Function<Authentication, Set<String>> resolver) {
+        return entry(authentication, resolver).authorities();
+    }
+
+    static AuthoritySet resolveSet(Authentication authentication, Function<Authentication, Set<String>> resolver) {
+        final Entry entry = entry(authentication, resolver);
+        final int registrySize = AuthorityRegistry.size();
+
+        if (entry.authoritySet() != null && entry.registrySize() == registrySize) {
+            return entry.authoritySet();
+        }
+
+        final AuthoritySet authoritySet = AuthoritySet.ofRegistered(entry.authorities());
+        ENTRIES.put(authentication, new Entry(entry.authorities(), authoritySet, registrySize));
+
+        return authoritySet;
+    }
+
+    static void clear(Authentication authentication) {
+        ENTRIES.invalidate(authentication);
+    }
+
+    private static Entry entry(Authentication authentication, Function<Authentication, Set<String>> resolver) {
+        return ENTRIES.get(authentication, key -> new Entry(resolver.apply(key), null, 0));
+    }
+
+    private record Entry(Set<String> authorities, AuthoritySet authoritySet, int registrySize) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.sme.finance.core.security;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registry assigning each known authority a stable bit index for {@link AuthoritySet}s.
+ * <p>
+ * The registry is seeded from {@link AuthoritiesConstants}; services register their own authorities, either
+ * explicitly or by building an {@link AuthoritySet} from them. Authorities are never removed, so the registry is
+ * capped at {@link #MAX_SIZE} authorities; sets fall back to comparing the names of the authorities left out.
+ */
+@UtilityClass
+public class AuthorityRegistry {
+
+    /**
+     * Maximum number of registered authorities.
+     */
+    public static final int MAX_SIZE = 1024;
+
+    private static final Object LOCK = new Object();
+
+    private static volatile Map<String, Integer> indexes = Map.of();
+
+    static {
+        register(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER, AuthoritiesConstants.ANONYMOUS);
+    }
+
+    /**
+     * Register the authorities, keeping the indexes of those already registered.
+     *
+     * @param authorities the authorities to register.
+     */
+    public static void register(String... authorities) {
+        for (String authority : authorities) {
+            register(authority);
+        }
+    }
+
+    /**
+     * Register the authority if not registered yet and the registry is not full.
+     *
+     * @param authority the authority to register.
+     * @return the bit index of the authority, or -1 if the registry is full.
+     */
+    public static int register(String authority) {
+        final Integer index = indexes.get(authority);
+        if (index != null) {
+            return index;
+        }
+
+        synchronized (LOCK) {
+            final Map<String, Integer> current = indexes;
+            final Integer registered = current.get(authority);
+            if (registered != null) {
+                return registered;
+            }
+            if (current.size() >= MAX_SIZE) {
+                return -1;
+            }
+
+            final Map<String, Integer> updated = new HashMap<>(current);
+            updated.put(authority, current.size());
+            indexes = Map.copyOf(updated);
+
+            return current.size();
+        }
+    }
+
+    /**
+     * Get the bit index of the authority.
+     *
+     * @param authority the authority.
+     * @return the bit index, or -1 if the authority is not registered.
+     */
+    public static int indexOf(String authority) {
+        final Integer index = indexes.get(authority);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * @return the number of registered authorities; grows with every new registration up to {@link #MAX_SIZE}.
+     */
+    public static int size() {
+        return indexes.size();
+    }
+}
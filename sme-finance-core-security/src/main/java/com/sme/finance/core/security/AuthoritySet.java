@@ -0,0 +1,157 @@
+package com.sme.finance.core.security;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Immutable set of authorities encoded as a bitset over the indexes of the {@link AuthorityRegistry}.
+ * <p>
+ * Membership checks between two sets are word-wise AND operations and do not allocate, which makes them suitable
+ * for authorization checks on hot endpoints. Build the sets to check against once, for example as constants.
+ * Authorities left out of a full registry are kept by name and compared as a plain set.
+ */
+public final class AuthoritySet {
+
+    private static final int WORD_BITS = Long.SIZE;
+
+    private final long[] words;
+    private final Set<String> unregistered;
+
+    private AuthoritySet(long[] words, Set<String> unregistered) {
+        this.words = words;
+        this.unregistered = unregistered;
+    }
+
+    /**
+     * Build a set of the given authorities, registering those not known yet while the registry is not full.
+     *
+     * @param authorities the authorities.
+     * @return the authority set.
+     */
+    public static AuthoritySet of(String... authorities) {
+        long[] words = new long[0];
+        Set<String> unregistered = null;
+
+        for (String authority : authorities) {
+            final int index = AuthorityRegistry.register(authority);
+            if (index >= 0) {
+                words = set(words, index);
+            } else {
+                unregistered = add(unregistered, authority);
+            }
+        }
+
+        return new AuthoritySet(words, unmodifiable(unregistered));
+    }
+
+    /**
+     * Build a set of the given authorities without registering them.
+     *
+     * @param authorities the authorities.
+     * @return the authority set.
+     */
+    static AuthoritySet ofRegistered(Collection<String> authorities) {
+        long[] words = new long[0];
+        Set<String> unregistered = null;
+
+        for (String authority : authorities) {
+            final int index = AuthorityRegistry.indexOf(authority);
+            if (index >= 0) {
+                words = set(words, index);
+            } else if (authority != null) {
+                unregistered = add(unregistered, authority);
+            }
+        }
+
+        return new AuthoritySet(words, unmodifiable(unregistered));
+    }
+
+    /**
+     * Check if this set and the other one have any authority in common.
+     *
+     * @param other the other set.
+     * @return true if the sets intersect, false otherwise.
+     */
+    public boolean intersects(AuthoritySet other) {
+        final int length = Math.min(words.length, other.words.length);
+
+        for (int i = 0; i < length; i++) {
+            if ((words[i] & other.words[i]) != 0L) {
+                return true;
+            }
+        }
+
+        return !unregistered.isEmpty() && !other.unregistered.isEmpty() && !Collections.disjoint(unregistered, other.unregistered);
+    }
+
+    /**
+     * Check if this set contains every authority of the other one.
+     *
+     * @param other the other set.
+     * @return true if all authorities of the other set are contained, false otherwise.
+     */
+    public boolean containsAll(AuthoritySet other) {
+        for (int i = 0; i < other.words.length; i++) {
+            final long word = i < words.length ? words[i] : 0L;
+            if ((word & other.words[i]) != other.words[i]) {
+                return false;
+            }
+        }
+
+        return unregistered.containsAll(other.unregistered);
+    }
+
+    public boolean isEmpty() {
+        if (!unregistered.isEmpty()) {
+            return false;
+        }
+        for (long word : words) {
+            if (word != 0L) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AuthoritySet other)) {
+            return false;
+        }
+        return containsAll(other) && other.containsAll(this);
+    }
+
+    @Override
+    public int hashCode() {
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0L) {
+            length--;
+        }
+        return 31 * Arrays.hashCode(Arrays.copyOf(words, length)) + unregistered.hashCode();
+    }
+
+    private static Set<String> add(Set<String> names, String name) {
+        final Set<String> target = names != null ? names : new HashSet<>();
+        target.add(name);
+        return target;
+    }
+
+    private static Set<String> unmodifiable(Set<String> names) {
+        return names != null ? Set.copyOf(names) : Set.of();
+    }
+
+    private static long[] set(long[] words, int index) {
+        final int wordIndex = index / WORD_BITS;
+        final long[] target = wordIndex < words.length ? words : Arrays.copyOf(words, wordIndex + 1);
+
+        target[wordIndex] |= 1L << (index % WORD_BITS);
+        return target;
+    }
+}
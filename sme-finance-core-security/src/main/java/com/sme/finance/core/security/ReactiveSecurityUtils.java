@@ -0,0 +1,111 @@
+package com.sme.finance.core.security;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Reactive counterpart of {@link SecurityUtils}, reading the authentication from the {@link ReactiveSecurityContextHolder}.
+ * <p>
+ * Authorities are resolved and cached per authentication the same way as by {@link SecurityUtils}, so the checks of
+ * a request share them whichever thread the subscriber runs on.
+ */
+@UtilityClass
+public class ReactiveSecurityUtils {
+
+    /**
+     * Get the login of the current user.
+     *
+     * @return the login of the current user, or an empty Mono if there is none.
+     */
+    public static Mono<String> getCurrentUserLogin() {
+        return currentAuthentication().flatMap(authentication -> Mono.justOrEmpty(SecurityUtils.extractPrincipal(authentication)));
+    }
+
+    /**
+     * Check if a user is authenticated.
+     *
+     * @return true if the user is authenticated, false otherwise.
+     */
+    public static Mono<Boolean> isAuthenticated() {
+        return currentAuthorities()
+            .map(authorities -> !authorities.contains(AuthoritiesConstants.ANONYMOUS))
+            .defaultIfEmpty(false);
+    }
+
+    /**
+     * Checks if the current user has any of the authorities.
+     *
+     * @param authorities the authorities to check.
+     * @return true if the current user has any of the authorities, false otherwise.
+     */
+    public static Mono<Boolean> hasCurrentUserAnyOfAuthorities(String... authorities) {
+        return currentAuthorities()
+            .map(currentAuthorities -> containsAny(currentAuthorities, authorities))
+            .defaultIfEmpty(false);
+    }
+
+    /**
+     * Checks if the current user has none of the authorities.
+     *
+     * @param authorities the authorities to check.
+     * @return true if the current user has none of the authorities, false otherwise.
+     */
+    public static Mono<Boolean> hasCurrentUserNoneOfAuthorities(String... authorities) {
+        return hasCurrentUserAnyOfAuthorities(authorities).map(hasAny -> !hasAny);
+    }
+
+    /**
+     * Checks if the current user has a specific authority.
+     *
+     * @param authority the authority to check.
+     * @return true if the current user has the authority, false otherwise.
+     */
+    public static Mono<Boolean> hasCurrentUserThisAuthority(String authority) {
+        return hasCurrentUserAnyOfAuthorities(authority);
+    }
+
+    /**
+     * Checks if the current user has any of the authorities, using the bitset encoding.
+     *
+     * @param authorities the authorities to check, usually a precomputed constant.
+     * @return true if the current user has any of the authorities, false otherwise.
+     */
+    public static Mono<Boolean> hasCurrentUserAnyOf(AuthoritySet authorities) {
+        return currentAuthentication()
+            .map(authentication -> AuthorityCache.resolveSet(authentication, SecurityUtils::resolveAuthorities).intersects(authorities))
+            .defaultIfEmpty(false);
+    }
+
+    /**
+     * Checks if the current user has none of the authorities, using the bitset encoding.
+     *
+     * @param authorities the authorities to check, usually a precomputed constant.
+     * @return true if the current user has none of the authorities, false otherwise.
+     */
+    public static Mono<Boolean> hasCurrentUserNoneOf(AuthoritySet authorities) {
+        return hasCurrentUserAnyOf(authorities).map(hasAny -> !hasAny);
+    }
+
+    private static Mono<Authentication> currentAuthentication() {
+        return ReactiveSecurityContextHolder.getContext()
+            .flatMap(securityContext -> Mono.justOrEmpty(securityContext.getAuthentication()));
+    }
+
+    private static Mono<Set<String>> currentAuthorities() {
+        return currentAuthentication().map(authentication -> AuthorityCache.resolve(authentication, SecurityUtils::resolveAuthorities));
+    }
+
+    private static boolean containsAny(Set<String> currentAuthorities, String... authorities) {
+        for (String authority : authorities) {
+            if (authority != null && currentAuthorities.contains(authority)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
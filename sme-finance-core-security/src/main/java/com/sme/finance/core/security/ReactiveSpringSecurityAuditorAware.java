@@ -0,0 +1,22 @@
+package com.sme.finance.core.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.data.domain.ReactiveAuditorAware;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of {@link ReactiveAuditorAware} based on Spring Security.
+ */
+@Component
+@ConditionalOnClass(name = "reactor.core.publisher.Mono")
+public class ReactiveSpringSecurityAuditorAware implements ReactiveAuditorAware<String> {
+
+    private static final String SYSTEM = "system";
+
+    @Override
+    public Mono<String> getCurrentAuditor() {
+        return ReactiveSecurityUtils.getCurrentUserLogin()
+            .defaultIfEmpty(SYSTEM);
+    }
+}
@@ -11,12 +11,13 @@ import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Utility class for Spring Security.
@@ -38,7 +39,7 @@ public class SecurityUtils {
         return Optional.ofNullable(extractPrincipal(securityContext.getAuthentication()));
     }
 
-    private static String extractPrincipal(Authentication authentication) {
+    static String extractPrincipal(Authentication authentication) {
         if (authentication == null) {
             return null;
         } else if (authentication.getPrincipal() instanceof UserDetails userDetails) {
@@ -64,8 +65,8 @@ public class SecurityUtils {
      * @return true if the user is authenticated, false otherwise.
      */
     public static boolean isAuthenticated() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return authentication != null && getAuthorities(authentication).noneMatch(AuthoritiesConstants.ANONYMOUS::equals);
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && !getAuthorities(authentication).contains(AuthoritiesConstants.ANONYMOUS);
     }
 
     /**
@@ -77,8 +78,18 @@ public class SecurityUtils {
     public static boolean hasCurrentUserAnyOfAuthorities(String... authorities) {
         final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-        return authentication != null &&
-            getAuthorities(authentication).anyMatch(authority -> Arrays.asList(authorities).contains(authority));
+        if (authentication == null) {
+            return false;
+        }
+
+        final Set<String> currentAuthorities = getAuthorities(authentication);
+        for (String authority : authorities) {
+            if (authority != null && currentAuthorities.contains(authority)) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     /**
@@ -101,13 +112,55 @@ public class SecurityUtils {
         return hasCurrentUserAnyOfAuthorities(authority);
     }
 
-    private static Stream<String> getAuthorities(Authentication authentication) {
+    /**
+     * Checks if the current user has any of the authorities, using the bitset encoding.
+     *
+     * @param authorities the authorities to check, usually a precomputed constant.
+     * @return true if the current user has any of the authorities, false otherwise.
+     */
+    public static boolean hasCurrentUserAnyOf(AuthoritySet authorities) {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        return authentication != null && AuthorityCache.resolveSet(authentication, SecurityUtils::resolveAuthorities).intersects(authorities);
+    }
+
+    /**
+     * Checks if the current user has none of the authorities, using the bitset encoding.
+     *
+     * @param authorities the authorities to check, usually a precomputed constant.
+     * @return true if the current user has none of the authorities, false otherwise.
+     */
+    public static boolean hasCurrentUserNoneOf(AuthoritySet authorities) {
+        return !hasCurrentUserAnyOf(authorities);
+    }
+
+    /**
+     * Drops the authorities cached for the current authentication.
+     * <p>
+     * Authorities are resolved once per authentication instance and reused by the checks above; the cached entry
+     * is released with the authentication, so calling this is only needed to force a new resolution.
+     */
+    public static void clearCachedAuthorities() {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null) {
+            AuthorityCache.clear(authentication);
+        }
+    }
+
+    private static Set<String> getAuthorities(Authentication authentication) {
+        return AuthorityCache.resolve(authentication, SecurityUtils::resolveAuthorities);
+    }
+
+    static Set<String> resolveAuthorities(Authentication authentication) {
         final Collection<? extends GrantedAuthority> authorities =
             authentication instanceof JwtAuthenticationToken jwtauthenticationtoken
                 ? extractAuthorityFromClaims(jwtauthenticationtoken.getToken().getClaims())
                 : authentication.getAuthorities();
 
-        return authorities.stream().map(GrantedAuthority::getAuthority);
+        return authorities.stream()
+            .map(GrantedAuthority::getAuthority)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toUnmodifiableSet());
     }
 
     public static List<GrantedAuthority> extractAuthorityFromClaims(Map<String, Object> claims) {
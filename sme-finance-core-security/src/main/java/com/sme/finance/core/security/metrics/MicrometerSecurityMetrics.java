@@ -0,0 +1,109 @@
+package com.sme.finance.core.security.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * {@link SecurityMetrics} publishing to a Micrometer {@link MeterRegistry}.
+ * <p>
+ * Meters used on the request path are created upfront. Rejected audiences are tagged by value, capped to
+ * {@value #MAX_AUDIENCE_TAGS} distinct values to bound the tag cardinality.
+ */
+public class MicrometerSecurityMetrics implements SecurityMetrics {
+
+    static final int MAX_AUDIENCE_TAGS = 100;
+
+    private static final String TOKEN_REQUESTS = "sme.security.oauth2.token.requests";
+    private static final String AUDIENCE_REJECTED = "sme.security.jwt.audience.rejected";
+    private static final String RELAY = "sme.security.token.relay";
+    private static final String OTHER_AUDIENCE = "other";
+
+    private final MeterRegistry registry;
+
+    private final Timer refreshSuccess;
+    private final Timer refreshFailure;
+    private final Timer clientCredentialsSuccess;
+    private final Timer clientCredentialsFailure;
+    private final Counter relayed;
+    private final Counter notRelayed;
+
+    private final ConcurrentMap<String, Counter> rejectedAudiences = new ConcurrentHashMap<>();
+
+    public MicrometerSecurityMetrics(MeterRegistry registry) {
+        this.registry = registry;
+
+        this.refreshSuccess = tokenRequestTimer(AuthorizationGrantType.REFRESH_TOKEN, "success");
+        this.refreshFailure = tokenRequestTimer(AuthorizationGrantType.REFRESH_TOKEN, "failure");
+        this.clientCredentialsSuccess = tokenRequestTimer(AuthorizationGrantType.CLIENT_CREDENTIALS, "success");
+        this.clientCredentialsFailure = tokenRequestTimer(AuthorizationGrantType.CLIENT_CREDENTIALS, "failure");
+
+        this.relayed = Counter.builder(RELAY).tag("result", "relayed").register(registry);
+        this.notRelayed = Counter.builder(RELAY).tag("result", "absent").register(registry);
+    }
+
+    @Override
+    public void tokenRequested(AuthorizationGrantType grantType, long durationNanos, boolean success) {
+        final Timer timer;
+        if (AuthorizationGrantType.CLIENT_CREDENTIALS.equals(grantType)) {
+            timer = success ? clientCredentialsSuccess : clientCredentialsFailure;
+        } else {
+            timer = success ? refreshSuccess : refreshFailure;
+        }
+
+        timer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void audienceRejected(List<String> audience) {
+        if (audience.isEmpty()) {
+            rejectedAudienceCounter("").increment();
+        }
+        for (String value : audience) {
+            rejectedAudienceCounter(value).increment();
+        }
+    }
+
+    @Override
+    public void relayHeaderBuilt(boolean relayed) {
+        (relayed ? this.relayed : this.notRelayed).increment();
+    }
+
+    @Override
+    public <T> void gauge(String name, T stateObject, ToDoubleFunction<T> valueFunction) {
+        Gauge.builder(name, stateObject, valueFunction).register(registry);
+    }
+
+    @Override
+    public <T> void functionCounter(String name, T stateObject, ToDoubleFunction<T> countFunction) {
+        FunctionCounter.builder(name, stateObject, countFunction).register(registry);
+    }
+
+    private Timer tokenRequestTimer(AuthorizationGrantType grantType, String outcome) {
+        return Timer.builder(TOKEN_REQUESTS)
+            .description("Calls to the IdP token endpoint")
+            .tag("grant_type", grantType.getValue())
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    private Counter rejectedAudienceCounter(String audience) {
+        final Counter counter = rejectedAudiences.get(audience);
+        if (counter != null) {
+            return counter;
+        }
+
+        final String tag = rejectedAudiences.size() < MAX_AUDIENCE_TAGS ? audience : OTHER_AUDIENCE;
+        return rejectedAudiences.computeIfAbsent(tag, value -> Counter.builder(AUDIENCE_REJECTED).tag("audience", value).register(registry));
+    }
+}
@@ -0,0 +1,66 @@
+package com.sme.finance.core.security.metrics;
+
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Instrumentation hooks of the security and token relay components.
+ * <p>
+ * All hooks default to no-ops; {@link #NOOP} is used unless metrics are enabled, so the hooks cost a virtual call
+ * to an empty method when disabled.
+ */
+public interface SecurityMetrics {
+
+    SecurityMetrics NOOP = new SecurityMetrics() {
+    };
+
+    /**
+     * Record a call to the IdP token endpoint.
+     *
+     * @param grantType     the grant type of the call.
+     * @param durationNanos the duration of the call in nanoseconds.
+     * @param success       whether an access token was obtained.
+     */
+    default void tokenRequested(AuthorizationGrantType grantType, long durationNanos, boolean success) {
+    }
+
+    /**
+     * Record a token rejected because none of its audiences is allowed.
+     *
+     * @param audience the audiences of the rejected token.
+     */
+    default void audienceRejected(List<String> audience) {
+    }
+
+    /**
+     * Record an outgoing request passing the token relay.
+     *
+     * @param relayed whether an Authorization header was added.
+     */
+    default void relayHeaderBuilt(boolean relayed) {
+    }
+
+    /**
+     * Register a gauge sampling the state object.
+     *
+     * @param name          the gauge name.
+     * @param stateObject   the object to sample.
+     * @param valueFunction the function computing the gauge value.
+     * @param <T>           the state object type.
+     */
+    default <T> void gauge(String name, T stateObject, ToDoubleFunction<T> valueFunction) {
+    }
+
+    /**
+     * Register a counter reading a monotonically increasing value of the state object.
+     *
+     * @param name          the counter name.
+     * @param stateObject   the object to read.
+     * @param countFunction the function reading the count.
+     * @param <T>           the state object type.
+     */
+    default <T> void functionCounter(String name, T stateObject, ToDoubleFunction<T> countFunction) {
+    }
+}
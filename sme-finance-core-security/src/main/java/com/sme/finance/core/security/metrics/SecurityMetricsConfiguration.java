@@ -0,0 +1,21 @@
+package com.sme.finance.core.security.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SecurityMetricsConfiguration {
+
+    @Bean
+    public SecurityMetrics securityMetrics(
+        @Value("${sme.security.metrics.enabled:false}") boolean enabled,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        final MeterRegistry registry = enabled ? meterRegistry.getIfAvailable() : null;
+
+        return registry != null ? new MicrometerSecurityMetrics(registry) : SecurityMetrics.NOOP;
+    }
+}
@@ -1,5 +1,6 @@
 package com.sme.finance.core.security.oauth2;
 
+import com.sme.finance.core.security.metrics.SecurityMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.oauth2.core.OAuth2Error;
 import org.springframework.security.oauth2.core.OAuth2TokenValidator;
@@ -16,11 +17,18 @@ public class AudienceValidator implements OAuth2TokenValidator<Jwt> {
     private final OAuth2Error error = new OAuth2Error("invalid_token", "The required audience is missing", null);
 
     private final List<String> allowedAudience;
+    private final SecurityMetrics metrics;
 
     public AudienceValidator(final List<String> allowedAudience) {
+        this(allowedAudience, SecurityMetrics.NOOP);
+    }
+
+    public AudienceValidator(final List<String> allowedAudience, final SecurityMetrics metrics) {
         Assert.notEmpty(allowedAudience, "Allowed audience should not be null or empty.");
+        Assert.notNull(metrics, "Metrics should not be null.");
 
         this.allowedAudience = allowedAudience;
+        this.metrics = metrics;
     }
 
     public OAuth2TokenValidatorResult validate(final Jwt jwt) {
@@ -30,6 +38,7 @@ public class AudienceValidator implements OAuth2TokenValidator<Jwt> {
             return OAuth2TokenValidatorResult.success();
         } else {
             log.warn("Invalid audience: {}", audience);
+            metrics.audienceRejected(audience);
             return OAuth2TokenValidatorResult.failure(error);
         }
     }
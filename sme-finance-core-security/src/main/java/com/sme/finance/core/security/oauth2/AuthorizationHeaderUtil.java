@@ -2,50 +2,33 @@ package com.sme.finance.core.security.oauth2;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.MediaType;
-import org.springframework.http.RequestEntity;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.converter.FormHttpMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
-import org.springframework.security.oauth2.client.http.OAuth2ErrorResponseErrorHandler;
-import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.OAuth2AccessToken;
-import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 import org.springframework.security.oauth2.core.OAuth2AuthorizationException;
 import org.springframework.security.oauth2.core.OAuth2Error;
-import org.springframework.security.oauth2.core.OAuth2RefreshToken;
-import org.springframework.security.oauth2.core.endpoint.OAuth2AccessTokenResponse;
-import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
-import org.springframework.security.oauth2.core.http.converter.OAuth2AccessTokenResponseHttpMessageConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
-
-import java.net.URI;
-import java.time.Duration;
-import java.time.Instant;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import org.springframework.util.StringUtils;
 
-import static java.util.Objects.requireNonNull;
+import java.util.Optional;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class AuthorizationHeaderUtil {
 
-    private final RestTemplateBuilder restTemplateBuilder;
     private final OAuth2AuthorizedClientService clientService;
+    private final AuthorizedClientRefresher clientRefresher;
+    private final Optional<AuthorizedClientRefreshScheduler> refreshScheduler;
+    private final ClientCredentialsTokenCache clientCredentialsTokenCache;
+
+    @Value("${sme.security.oauth2.client-credentials.registration-id:}")
+    private String clientCredentialsRegistrationId;
 
     public Optional<String> getAuthorizationHeader() {
 
@@ -60,21 +43,25 @@ public class AuthorizationHeaderUtil {
                 throw new OAuth2AuthorizationException(new OAuth2Error("access_denied", "The token is expired", null));
             }
 
+            refreshScheduler.ifPresent(scheduler -> scheduler.track(oauthToken));
+
             final OAuth2AccessToken accessToken = client.getAccessToken();
 
             if (accessToken != null) {
                 final String tokenType = accessToken.getTokenType().getValue();
 
                 String accessTokenValue = accessToken.getTokenValue();
-                if (isExpired(accessToken)) {
+                if (clientRefresher.isExpired(accessToken)) {
                     log.info("AccessToken expired, refreshing automatically");
-                    accessTokenValue = refreshToken(client, oauthToken);
+                    final OAuth2AccessToken refreshedToken = clientRefresher.refresh(client, oauthToken);
 
-                    if (null == accessTokenValue) {
+                    if (null == refreshedToken) {
                         SecurityContextHolder.getContext().setAuthentication(null);
 
                         throw new OAuth2AuthorizationException(new OAuth2Error("access_denied", "The token is expired", null));
                     }
+
+                    accessTokenValue = refreshedToken.getTokenValue();
                 }
 
                 String authorizationHeaderValue = String.format("%s %s", tokenType, accessTokenValue);
@@ -85,87 +72,15 @@ public class AuthorizationHeaderUtil {
             final String authorizationHeaderValue = String.format("%s %s", OAuth2AccessToken.TokenType.BEARER.getValue(), tokenValue);
 
             return Optional.of(authorizationHeaderValue);
-        }
-
-        return Optional.empty();
-    }
-
-    private String refreshToken(OAuth2AuthorizedClient client, OAuth2AuthenticationToken oauthToken) {
-        final OAuth2AccessTokenResponse atr = refreshTokenClient(client);
-        if (atr.getAccessToken() == null) {
-            log.info("Failed to refresh token for user");
-            return null;
-        }
+        } else if (authentication == null && StringUtils.hasText(clientCredentialsRegistrationId)) {
+            // Only without any user context, e.g. batch jobs and listeners: anonymous or unknown
+            // authentications must not be relayed with the service identity
+            final OAuth2AccessToken accessToken = clientCredentialsTokenCache.getAccessToken(clientCredentialsRegistrationId);
+            final String authorizationHeaderValue = String.format("%s %s", accessToken.getTokenType().getValue(), accessToken.getTokenValue());
 
-        final OAuth2RefreshToken refreshToken = atr.getRefreshToken() != null ? atr.getRefreshToken() : client.getRefreshToken();
-        final OAuth2AuthorizedClient updatedClient = new OAuth2AuthorizedClient(
-            client.getClientRegistration(),
-            client.getPrincipalName(),
-            atr.getAccessToken(),
-            refreshToken
-        );
-
-        clientService.saveAuthorizedClient(updatedClient, oauthToken);
-        return atr.getAccessToken().getTokenValue();
-    }
-
-    private OAuth2AccessTokenResponse refreshTokenClient(OAuth2AuthorizedClient currentClient) {
-        final MultiValueMap<String, String> formParameters = new LinkedMultiValueMap<>();
-        formParameters.add(OAuth2ParameterNames.GRANT_TYPE, AuthorizationGrantType.REFRESH_TOKEN.getValue());
-        formParameters.add(OAuth2ParameterNames.REFRESH_TOKEN, requireNonNull(currentClient.getRefreshToken()).getTokenValue());
-        formParameters.add(OAuth2ParameterNames.CLIENT_ID, currentClient.getClientRegistration().getClientId());
-
-        final RequestEntity<MultiValueMap<String, String>> requestEntity =
-            RequestEntity
-                .post(URI.create(currentClient.getClientRegistration().getProviderDetails().getTokenUri()))
-                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                .body(formParameters);
-
-        try {
-            final RestTemplate r = restTemplate(
-                currentClient.getClientRegistration().getClientId(),
-                currentClient.getClientRegistration().getClientSecret()
-            );
-
-            final ResponseEntity<OAuthIdpTokenResponseDTO> responseEntity = r.exchange(requestEntity, OAuthIdpTokenResponseDTO.class);
-            final OAuthIdpTokenResponseDTO responseBody = requireNonNull(responseEntity.getBody());
-
-            return toOAuth2AccessTokenResponse(responseBody);
-        } catch (OAuth2AuthorizationException e) {
-            log.error("Unable to refresh token", e);
-            throw new OAuth2AuthenticationException(e.getError(), e);
+            return Optional.of(authorizationHeaderValue);
         }
-    }
 
-    private OAuth2AccessTokenResponse toOAuth2AccessTokenResponse(OAuthIdpTokenResponseDTO oAuthIdpResponse) {
-        final Map<String, Object> additionalParameters = new HashMap<>();
-        additionalParameters.put("id_token", oAuthIdpResponse.getIdToken());
-        additionalParameters.put("not-before-policy", oAuthIdpResponse.getNotBefore());
-        additionalParameters.put("refresh_expires_in", oAuthIdpResponse.getRefreshExpiresIn());
-        additionalParameters.put("session_state", oAuthIdpResponse.getSessionState());
-
-        return OAuth2AccessTokenResponse
-            .withToken(oAuthIdpResponse.getAccessToken())
-            .expiresIn(oAuthIdpResponse.getExpiresIn())
-            .refreshToken(oAuthIdpResponse.getRefreshToken())
-            .scopes(Pattern.compile("\\s").splitAsStream(oAuthIdpResponse.getScope()).collect(Collectors.toSet()))
-            .tokenType(OAuth2AccessToken.TokenType.BEARER)
-            .additionalParameters(additionalParameters)
-            .build();
-    }
-
-    private RestTemplate restTemplate(String clientId, String clientSecret) {
-        return restTemplateBuilder
-            .additionalMessageConverters(new FormHttpMessageConverter(), new OAuth2AccessTokenResponseHttpMessageConverter())
-            .errorHandler(new OAuth2ErrorResponseErrorHandler())
-            .basicAuthentication(clientId, clientSecret)
-            .build();
-    }
-
-    private boolean isExpired(final OAuth2AccessToken accessToken) {
-        final Instant now = Instant.now();
-        final Instant expiresAt = requireNonNull(accessToken.getExpiresAt());
-
-        return now.isAfter(expiresAt.minus(Duration.ofMinutes(1L)));
+        return Optional.empty();
     }
 }
@@ -0,0 +1,209 @@
+package com.sme.finance.core.security.oauth2;
+
+import com.sme.finance.core.security.metrics.SecurityMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Refreshes recently used {@link OAuth2AuthorizedClient}s in the background before their access token expires,
+ * so that request threads do not pay for the IdP round-trip.
+ * <p>
+ * Clients are tracked by {@link AuthorizationHeaderUtil} on use and forgotten once idle. Each tracked client gets
+ * a random jitter added to the refresh lead time to spread refreshes of many clients over time.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "sme.security.oauth2.refresh-ahead", name = "enabled", havingValue = "true")
+public class AuthorizedClientRefreshScheduler implements InitializingBean, DisposableBean {
+
+    private final OAuth2AuthorizedClientService clientService;
+    private final AuthorizedClientRefresher clientRefresher;
+
+    private final Duration leadTime;
+    private final Duration maxJitter;
+    private final Duration idleTimeout;
+    private final Duration sweepInterval;
+
+    private final ScheduledExecutorService sweeper;
+    private final ThreadPoolExecutor workers;
+
+    private final ConcurrentMap<ClientKey, TrackedClient> trackedClients = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("java:S107") // Constructor has too many parameters
+    public AuthorizedClientRefreshScheduler(
+        OAuth2AuthorizedClientService clientService,
+        AuthorizedClientRefresher clientRefresher,
+        SecurityMetrics metrics,
+        @Value("${sme.security.oauth2.refresh-ahead.lead-time:PT2M}") Duration leadTime,
+        @Value("${sme.security.oauth2.refresh-ahead.max-jitter:PT30S}") Duration maxJitter,
+        @Value("${sme.security.oauth2.refresh-ahead.idle-timeout:PT15M}") Duration idleTimeout,
+        @Value("${sme.security.oauth2.refresh-ahead.sweep-interval:PT10S}") Duration sweepInterval,
+        @Value("${sme.security.oauth2.refresh-ahead.pool-size:2}") int poolSize,
+        @Value("${sme.security.oauth2.refresh-ahead.queue-capacity:256}") int queueCapacity
+    ) {
+        this.clientService = clientService;
+        this.clientRefresher = clientRefresher;
+        this.leadTime = leadTime;
+        this.maxJitter = maxJitter;
+        this.idleTimeout = idleTimeout;
+        this.sweepInterval = sweepInterval;
+
+        final CustomizableThreadFactory sweeperThreadFactory = new CustomizableThreadFactory("oauth2-refresh-sweeper-");
+        sweeperThreadFactory.setDaemon(true);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(sweeperThreadFactory);
+
+        final CustomizableThreadFactory workerThreadFactory = new CustomizableThreadFactory("oauth2-refresh-");
+        workerThreadFactory.setDaemon(true);
+        this.workers = new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            workerThreadFactory
+        );
+
+        metrics.gauge("sme.security.oauth2.refresh.ahead.tracked", trackedClients, ConcurrentMap::size);
+        metrics.gauge("sme.security.oauth2.refresh.ahead.queued", workers, executor -> executor.getQueue().size());
+    }
+
+    /**
+     * Record a use of the authorized client of the given principal.
+     *
+     * @param principal the principal whose authorized client was used.
+     */
+    public void track(OAuth2AuthenticationToken principal) {
+        final ClientKey key = new ClientKey(principal.getAuthorizedClientRegistrationId(), principal.getName());
+        final TrackedClient trackedClient = trackedClients.get(key);
+
+        if (trackedClient != null) {
+            trackedClient.touch(principal);
+        } else {
+            trackedClients.putIfAbsent(key, new TrackedClient(principal, randomJitter()));
+        }
+    }
+
+    /**
+     * @return the number of clients currently tracked for background refresh.
+     */
+    public int getTrackedClientCount() {
+        return trackedClients.size();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        final long interval = sweepInterval.toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        sweeper.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void sweep() {
+        final long now = System.currentTimeMillis();
+
+        trackedClients.forEach((key, trackedClient) -> {
+            if (now - trackedClient.lastUsed > idleTimeout.toMillis()) {
+                trackedClients.remove(key, trackedClient);
+            } else if (trackedClient.refreshing.compareAndSet(false, true)) {
+                scheduleIfExpiring(key, trackedClient);
+            }
+        });
+    }
+
+    private void scheduleIfExpiring(ClientKey key, TrackedClient trackedClient) {
+        try {
+            final OAuth2AuthorizedClient client = clientService.loadAuthorizedClient(key.registrationId(), key.principalName());
+
+            if (client == null) {
+                trackedClients.remove(key, trackedClient);
+                trackedClient.refreshing.set(false);
+            } else if (isExpiring(client, trackedClient.jitter)) {
+                workers.execute(() -> refresh(client, trackedClient));
+            } else {
+                trackedClient.refreshing.set(false);
+            }
+        } catch (RejectedExecutionException e) {
+            log.debug("Refresh queue is full, postponing refresh of {}", key);
+            trackedClient.refreshing.set(false);
+        } catch (RuntimeException e) {
+            log.warn("Unable to check the access token of {}", key, e);
+            trackedClient.refreshing.set(false);
+        }
+    }
+
+    private boolean isExpiring(OAuth2AuthorizedClient client, Duration jitter) {
+        final OAuth2AccessToken accessToken = client.getAccessToken();
+
+        if (accessToken == null || accessToken.getExpiresAt() == null || client.getRefreshToken() == null) {
+            return false;
+        }
+
+        return Instant.now().isAfter(accessToken.getExpiresAt().minus(leadTime).minus(jitter));
+    }
+
+    private void refresh(OAuth2AuthorizedClient client, TrackedClient trackedClient) {
+        try {
+            if (clientRefresher.refresh(client, trackedClient.principal) == null) {
+                log.info("Background refresh returned no access token for {}", client.getPrincipalName());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Background refresh failed for {}", client.getPrincipalName(), e);
+        } finally {
+            trackedClient.refreshing.set(false);
+        }
+    }
+
+    private Duration randomJitter() {
+        final long bound = maxJitter.toMillis();
+        return bound > 0 ? Duration.ofMillis(ThreadLocalRandom.current().nextLong(bound + 1)) : Duration.ZERO;
+    }
+
+    private record ClientKey(String registrationId, String principalName) {
+    }
+
+    private static final class TrackedClient {
+
+        private final Duration jitter;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private volatile OAuth2AuthenticationToken principal;
+        private volatile long lastUsed;
+
+        private TrackedClient(OAuth2AuthenticationToken principal, Duration jitter) {
+            this.principal = principal;
+            this.jitter = jitter;
+            this.lastUsed = System.currentTimeMillis();
+        }
+
+        private void touch(OAuth2AuthenticationToken principal) {
+            this.principal = principal;
+            this.lastUsed = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.sme.finance.core.security.oauth2;
+
+import com.sme.finance.core.security.metrics.SecurityMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2AuthorizationException;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AccessTokenResponse;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Refreshes access tokens of {@link OAuth2AuthorizedClient}s against the IdP.
+ * <p>
+ * Refreshes are deduplicated per registration and principal: one refresh is in flight at a time
+ * and its outcome, including a failure, is shared by every concurrent caller.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthorizedClientRefresher implements InitializingBean {
+
+    private static final Duration EXPIRY_WINDOW = Duration.ofMinutes(1L);
+
+    private final TokenEndpointRestTemplates tokenEndpointRestTemplates;
+    private final OAuth2AuthorizedClientService clientService;
+    private final SecurityMetrics metrics;
+
+    private final SingleFlight<RefreshKey, OAuth2AccessToken> refreshes = new SingleFlight<>();
+    private final LongAdder idpRefreshes = new LongAdder();
+
+    @Override
+    public void afterPropertiesSet() {
+        metrics.functionCounter("sme.security.oauth2.refresh.executions", idpRefreshes, LongAdder::sum);
+        metrics.functionCounter("sme.security.oauth2.refresh.flights", refreshes, SingleFlight::executions);
+        metrics.functionCounter("sme.security.oauth2.refresh.coalesced", refreshes, SingleFlight::coalesced);
+        metrics.gauge("sme.security.oauth2.refresh.in.flight", refreshes, SingleFlight::inFlight);
+    }
+
+    /**
+     * Refresh the access token of the given client and store the updated client.
+     *
+     * @param client    the client holding the expired access token.
+     * @param principal the principal the client is authorized for.
+     * @return the refreshed access token, or null if the IdP did not return one.
+     */
+    public OAuth2AccessToken refresh(OAuth2AuthorizedClient client, Authentication principal) {
+        final RefreshKey key = new RefreshKey(client.getClientRegistration().getRegistrationId(), client.getPrincipalName());
+
+        return refreshes.execute(key, () -> refreshIfNotRefreshedYet(key, client, principal));
+    }
+
+    /**
+     * Check if the access token is expired or about to expire.
+     *
+     * @param accessToken the access token to check.
+     * @return true if the token expires within the refresh window, false otherwise.
+     */
+    public boolean isExpired(final OAuth2AccessToken accessToken) {
+        final Instant now = Instant.now();
+        final Instant expiresAt = requireNonNull(accessToken.getExpiresAt());
+
+        return now.isAfter(expiresAt.minus(EXPIRY_WINDOW));
+    }
+
+    /**
+     * @return the number of refreshes sent to the IdP.
+     */
+    public long getRefreshCount() {
+        return idpRefreshes.sum();
+    }
+
+    /**
+     * @return the number of refresh flights started, including those served by a token another flight already
+     * refreshed.
+     */
+    public long getRefreshFlightCount() {
+        return refreshes.executions();
+    }
+
+    /**
+     * @return the number of refresh requests served by joining a refresh already in flight.
+     */
+    public long getCoalescedRefreshCount() {
+        return refreshes.coalesced();
+    }
+
+    private OAuth2AccessToken refreshIfNotRefreshedYet(RefreshKey key, OAuth2AuthorizedClient client, Authentication principal) {
+        // A previous flight may have completed between the caller loading the client and starting this one
+        final OAuth2AuthorizedClient current = clientService.loadAuthorizedClient(key.registrationId(), key.principalName());
+
+        if (current != null && isReplaced(client.getAccessToken(), current.getAccessToken())) {
+            return current.getAccessToken();
+        }
+
+        return refreshToken(current != null ? current : client, principal);
+    }
+
+    static boolean isReplaced(OAuth2AccessToken seen, OAuth2AccessToken current) {
+        return seen != null && current != null && !seen.getTokenValue().equals(current.getTokenValue());
+    }
+
+    private OAuth2AccessToken refreshToken(OAuth2AuthorizedClient client, Authentication principal) {
+        final OAuth2AccessTokenResponse atr = timedRefreshTokenClient(client);
+        if (atr.getAccessToken() == null) {
+            log.info("Failed to refresh token for user");
+            return null;
+        }
+
+        final OAuth2RefreshToken refreshToken = atr.getRefreshToken() != null ? atr.getRefreshToken() : client.getRefreshToken();
+        final OAuth2AuthorizedClient updatedClient = new OAuth2AuthorizedClient(
+            client.getClientRegistration(),
+            client.getPrincipalName(),
+            atr.getAccessToken(),
+            refreshToken
+        );
+
+        clientService.saveAuthorizedClient(updatedClient, principal);
+        return atr.getAccessToken();
+    }
+
+    private OAuth2AccessTokenResponse timedRefreshTokenClient(OAuth2AuthorizedClient client) {
+        final long start = System.nanoTime();
+        boolean success = false;
+
+        try {
+            final OAuth2AccessTokenResponse atr = refreshTokenClient(client);
+            success = atr.getAccessToken() != null;
+            return atr;
+        } finally {
+            metrics.tokenRequested(AuthorizationGrantType.REFRESH_TOKEN, System.nanoTime() - start, success);
+        }
+    }
+
+    private OAuth2AccessTokenResponse refreshTokenClient(OAuth2AuthorizedClient currentClient) {
+        final MultiValueMap<String, String> formParameters = new LinkedMultiValueMap<>();
+        formParameters.add(OAuth2ParameterNames.GRANT_TYPE, AuthorizationGrantType.REFRESH_TOKEN.getValue());
+        formParameters.add(OAuth2ParameterNames.REFRESH_TOKEN, requireNonNull(currentClient.getRefreshToken()).getTokenValue());
+        formParameters.add(OAuth2ParameterNames.CLIENT_ID, currentClient.getClientRegistration().getClientId());
+
+        final RequestEntity<MultiValueMap<String, String>> requestEntity =
+            RequestEntity
+                .post(URI.create(currentClient.getClientRegistration().getProviderDetails().getTokenUri()))
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(formParameters);
+
+        try {
+            final RestTemplate r = tokenEndpointRestTemplates.forRegistration(currentClient.getClientRegistration());
+
+            idpRefreshes.increment();
+            final ResponseEntity<OAuthIdpTokenResponseDTO> responseEntity = r.exchange(requestEntity, OAuthIdpTokenResponseDTO.class);
+            final OAuthIdpTokenResponseDTO responseBody = requireNonNull(responseEntity.getBody());
+
+            return OAuthIdpTokenResponseMapper.toOAuth2AccessTokenResponse(responseBody);
+        } catch (OAuth2AuthorizationException e) {
+            log.error("Unable to refresh token", e);
+            throw new OAuth2AuthenticationException(e.getError(), e);
+        }
+    }
+
+    private record RefreshKey(String registrationId, String principalName) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.sme.finance.core.security.oauth2;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.sme.finance.core.security.metrics.SecurityMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.util.Assert;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * {@link JwtDecoder} keeping successfully decoded and validated tokens until they expire.
+ * <p>
+ * Tokens are keyed by their SHA-256 hash, so the raw bearer values are not retained as keys. An entry lives until
+ * the token's {@code exp} claim or the configured maximum TTL, whichever comes first, and the cache is bounded
+ * by size. A hit is checked against {@code exp} and {@code nbf} again, a token outside its validity is decoded and
+ * validated by the delegate instead. Tokens failing decoding or validation are never cached.
+ * <p>
+ * Hits, misses and the size are published through {@link SecurityMetrics} as {@code sme.security.jwt.decode-cache.*}.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(CachingJwtDecoder::sha256);
+
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> cache;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize, Duration maximumTtl) {
+        this(delegate, maximumSize, maximumTtl, SecurityMetrics.NOOP);
+    }
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize, Duration maximumTtl, SecurityMetrics metrics) {
+        Assert.notNull(delegate, "Delegate decoder should not be null.");
+        Assert.isTrue(!maximumTtl.isNegative(), "Maximum TTL should not be negative.");
+
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new JwtExpiry(maximumTtl))
+            .recordStats()
+            .build();
+
+        metrics.functionCounter("sme.security.jwt.decode-cache.hits", cache, c -> c.stats().hitCount());
+        metrics.functionCounter("sme.security.jwt.decode-cache.misses", cache, c -> c.stats().missCount());
+        metrics.gauge("sme.security.jwt.decode-cache.size", cache, Cache::estimatedSize);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        final String key = hash(token);
+        final Jwt cached = cache.getIfPresent(key);
+
+        if (cached != null && cached.getTokenValue().equals(token) && isCurrent(cached)) {
+            return cached;
+        }
+
+        final Jwt jwt = delegate.decode(token);
+        cache.put(key, jwt);
+
+        return jwt;
+    }
+
+    /**
+     * @return the hit and miss statistics of the cache.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * @return the approximate number of cached tokens.
+     */
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    private static boolean isCurrent(Jwt jwt) {
+        final Instant now = Instant.now();
+
+        return (jwt.getExpiresAt() == null || now.isBefore(jwt.getExpiresAt()))
+            && (jwt.getNotBefore() == null || !now.isBefore(jwt.getNotBefore()));
+    }
+
+    private static String hash(String token) {
+        final byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record JwtExpiry(Duration maximumTtl) implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            final Instant expiresAt = jwt.getExpiresAt();
+
+            if (expiresAt == null) {
+                return maximumTtl.toNanos();
+            }
+
+            final Duration untilExpiry = Duration.between(Instant.now(), expiresAt);
+            if (untilExpiry.isNegative()) {
+                return 0L;
+            }
+
+            return untilExpiry.compareTo(maximumTtl) < 0 ? untilExpiry.toNanos() : maximumTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
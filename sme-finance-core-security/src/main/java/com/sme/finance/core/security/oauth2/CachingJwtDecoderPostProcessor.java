@@ -0,0 +1,65 @@
+package com.sme.finance.core.security.oauth2;
+
+import com.sme.finance.core.security.metrics.SecurityMetrics;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+
+/**
+ * Routes the {@code decode} calls of the application's {@link JwtDecoder} through a {@link CachingJwtDecoder}.
+ * <p>
+ * The decoder bean is replaced by a class-based proxy, so injection points typed with its class, such as
+ * {@code NimbusJwtDecoder}, keep working. A decoder of a final class can only be proxied by its interfaces and then
+ * has to be injected as a {@link JwtDecoder}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "sme.security.jwt.decode-cache", name = "enabled", havingValue = "true")
+public class CachingJwtDecoderPostProcessor implements BeanPostProcessor {
+
+    private final long maximumSize;
+    private final Duration maximumTtl;
+    private final ObjectProvider<SecurityMetrics> metrics;
+
+    public CachingJwtDecoderPostProcessor(
+        @Value("${sme.security.jwt.decode-cache.maximum-size:10000}") long maximumSize,
+        @Value("${sme.security.jwt.decode-cache.maximum-ttl:PT5M}") Duration maximumTtl,
+        ObjectProvider<SecurityMetrics> metrics
+    ) {
+        this.maximumSize = maximumSize;
+        this.maximumTtl = maximumTtl;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof JwtDecoder jwtDecoder && !(bean instanceof CachingJwtDecoder)) {
+            final CachingJwtDecoder cachingJwtDecoder =
+                new CachingJwtDecoder(jwtDecoder, maximumSize, maximumTtl, metrics.getIfAvailable(() -> SecurityMetrics.NOOP));
+
+            final ProxyFactory proxyFactory = new ProxyFactory(bean);
+            proxyFactory.setProxyTargetClass(!Modifier.isFinal(bean.getClass().getModifiers()));
+            proxyFactory.addAdvice((MethodInterceptor) invocation -> isDecode(invocation.getMethod())
+                ? cachingJwtDecoder.decode((String) invocation.getArguments()[0])
+                : invocation.proceed());
+
+            return proxyFactory.getProxy(bean.getClass().getClassLoader());
+        }
+
+        return bean;
+    }
+
+    private static boolean isDecode(Method method) {
+        return "decode".equals(method.getName())
+            && method.getParameterCount() == 1
+            && method.getParameterTypes()[0] == String.class;
+    }
+}
@@ -0,0 +1,165 @@
+package com.sme.finance.core.security.oauth2;
+
+import com.sme.finance.core.security.metrics.SecurityMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2AuthorizationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AccessTokenResponse;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Cache of access tokens obtained with the client_credentials grant, one per {@link ClientRegistration}.
+ * <p>
+ * Reads are lock-free while the cached token is valid. Once a token enters the refresh-ahead window it keeps being
+ * served while a single background acquisition replaces it; callers only wait when no usable token is cached at all,
+ * and then share one acquisition per registration.
+ */
+@Slf4j
+@Component
+public class ClientCredentialsTokenCache implements DisposableBean {
+
+    private final ClientRegistrationRepository clientRegistrationRepository;
+    private final TokenEndpointRestTemplates tokenEndpointRestTemplates;
+    private final SecurityMetrics metrics;
+    private final Duration refreshAhead;
+    private final ExecutorService refreshExecutor;
+
+    private final ConcurrentMap<String, OAuth2AccessToken> tokens = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final SingleFlight<String, OAuth2AccessToken> acquisitions = new SingleFlight<>();
+
+    public ClientCredentialsTokenCache(
+        ClientRegistrationRepository clientRegistrationRepository,
+        TokenEndpointRestTemplates tokenEndpointRestTemplates,
+        SecurityMetrics metrics,
+        @Value("${sme.security.oauth2.client-credentials.refresh-ahead:PT1M}") Duration refreshAhead
+    ) {
+        this.clientRegistrationRepository = clientRegistrationRepository;
+        this.tokenEndpointRestTemplates = tokenEndpointRestTemplates;
+        this.metrics = metrics;
+        this.refreshAhead = refreshAhead;
+
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("oauth2-client-credentials-");
+        threadFactory.setDaemon(true);
+        this.refreshExecutor = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    /**
+     * Get a valid access token of the given registration, acquiring one if none is cached.
+     *
+     * @param registrationId the id of a client registration allowed to use the client_credentials grant.
+     * @return the access token.
+     */
+    public OAuth2AccessToken getAccessToken(String registrationId) {
+        final OAuth2AccessToken token = tokens.get(registrationId);
+        final Instant now = Instant.now();
+
+        if (token != null && isValidAt(token, now.plus(refreshAhead))) {
+            return token;
+        }
+
+        if (token != null && isValidAt(token, now)) {
+            refreshInBackground(registrationId);
+            return token;
+        }
+
+        return acquisitions.execute(registrationId, () -> acquire(registrationId));
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private void refreshInBackground(String registrationId) {
+        if (!refreshing.add(registrationId)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    acquisitions.execute(registrationId, () -> acquire(registrationId));
+                } catch (RuntimeException e) {
+                    log.warn("Unable to refresh client credentials token of {}", registrationId, e);
+                } finally {
+                    refreshing.remove(registrationId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(registrationId);
+        }
+    }
+
+    private OAuth2AccessToken acquire(String registrationId) {
+        final ClientRegistration registration = clientRegistrationRepository.findByRegistrationId(registrationId);
+
+        if (registration == null) {
+            throw new OAuth2AuthorizationException(new OAuth2Error("invalid_client", "Unknown client registration " + registrationId, null));
+        }
+
+        final MultiValueMap<String, String> formParameters = new LinkedMultiValueMap<>();
+        formParameters.add(OAuth2ParameterNames.GRANT_TYPE, AuthorizationGrantType.CLIENT_CREDENTIALS.getValue());
+        if (!CollectionUtils.isEmpty(registration.getScopes())) {
+            formParameters.add(OAuth2ParameterNames.SCOPE, String.join(" ", registration.getScopes()));
+        }
+
+        final RequestEntity<MultiValueMap<String, String>> requestEntity =
+            RequestEntity
+                .post(URI.create(registration.getProviderDetails().getTokenUri()))
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(formParameters);
+
+        final long start = System.nanoTime();
+        boolean success = false;
+
+        try {
+            final ResponseEntity<OAuthIdpTokenResponseDTO> responseEntity =
+                tokenEndpointRestTemplates.forRegistration(registration).exchange(requestEntity, OAuthIdpTokenResponseDTO.class);
+            final OAuth2AccessTokenResponse tokenResponse =
+                OAuthIdpTokenResponseMapper.toOAuth2AccessTokenResponse(requireNonNull(responseEntity.getBody()));
+
+            final OAuth2AccessToken accessToken = tokenResponse.getAccessToken();
+            tokens.put(registrationId, accessToken);
+            success = true;
+
+            return accessToken;
+        } catch (OAuth2AuthorizationException e) {
+            log.error("Unable to obtain client credentials token", e);
+            throw new OAuth2AuthenticationException(e.getError(), e);
+        } finally {
+            metrics.tokenRequested(AuthorizationGrantType.CLIENT_CREDENTIALS, System.nanoTime() - start, success);
+        }
+    }
+
+    private boolean isValidAt(OAuth2AccessToken token, Instant instant) {
+        return token.getExpiresAt() == null || token.getExpiresAt().isAfter(instant);
+    }
+}
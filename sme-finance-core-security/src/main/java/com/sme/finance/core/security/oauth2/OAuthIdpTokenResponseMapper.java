@@ -0,0 +1,42 @@
+package com.sme.finance.core.security.oauth2;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AccessTokenResponse;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Maps IdP token endpoint responses to {@link OAuth2AccessTokenResponse}s.
+ */
+@UtilityClass
+public class OAuthIdpTokenResponseMapper {
+
+    private static final Pattern SCOPE_DELIMITER = Pattern.compile("\\s");
+
+    public static OAuth2AccessTokenResponse toOAuth2AccessTokenResponse(OAuthIdpTokenResponseDTO oAuthIdpResponse) {
+        final Map<String, Object> additionalParameters = new HashMap<>();
+        additionalParameters.put("id_token", oAuthIdpResponse.getIdToken());
+        additionalParameters.put("not-before-policy", oAuthIdpResponse.getNotBefore());
+        additionalParameters.put("refresh_expires_in", oAuthIdpResponse.getRefreshExpiresIn());
+        additionalParameters.put("session_state", oAuthIdpResponse.getSessionState());
+
+        return OAuth2AccessTokenResponse
+            .withToken(oAuthIdpResponse.getAccessToken())
+            .expiresIn(oAuthIdpResponse.getExpiresIn())
+            .refreshToken(oAuthIdpResponse.getRefreshToken())
+            .scopes(toScopes(oAuthIdpResponse.getScope()))
+            .tokenType(OAuth2AccessToken.TokenType.BEARER)
+            .additionalParameters(additionalParameters)
+            .build();
+    }
+
+    private static Set<String> toScopes(String scope) {
+        return scope == null ? Collections.emptySet() : SCOPE_DELIMITER.splitAsStream(scope).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,81 @@
+package com.sme.finance.core.security.oauth2;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2AuthorizationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link AuthorizationHeaderUtil}, resolving the header from the {@link ReactiveSecurityContextHolder}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthorizationHeaderUtil {
+
+    private final ObjectProvider<ReactiveOAuth2AuthorizedClientService> clientService;
+    private final ReactiveAuthorizedClientRefresher clientRefresher;
+
+    public Mono<String> getAuthorizationHeader() {
+        return ReactiveSecurityContextHolder.getContext()
+            .flatMap(securityContext -> Mono.justOrEmpty(securityContext.getAuthentication()))
+            .flatMap(this::getAuthorizationHeader);
+    }
+
+    private Mono<String> getAuthorizationHeader(Authentication authentication) {
+        if (authentication instanceof OAuth2AuthenticationToken oauthToken) {
+            return getAuthorizedClientHeader(oauthToken);
+        } else if (authentication instanceof JwtAuthenticationToken accessToken) {
+            final String tokenValue = accessToken.getToken().getTokenValue();
+
+            return Mono.just(String.format("%s %s", OAuth2AccessToken.TokenType.BEARER.getValue(), tokenValue));
+        }
+
+        return Mono.empty();
+    }
+
+    private Mono<String> getAuthorizedClientHeader(OAuth2AuthenticationToken oauthToken) {
+        final ReactiveOAuth2AuthorizedClientService service = clientService.getIfAvailable();
+
+        if (service == null) {
+            return Mono.empty();
+        }
+
+        return service.<OAuth2AuthorizedClient>loadAuthorizedClient(oauthToken.getAuthorizedClientRegistrationId(), oauthToken.getName())
+            .switchIfEmpty(Mono.error(ReactiveAuthorizationHeaderUtil::tokenExpired))
+            .flatMap(client -> {
+                final OAuth2AccessToken accessToken = client.getAccessToken();
+
+                if (accessToken == null) {
+                    return Mono.empty();
+                }
+
+                final String tokenType = accessToken.getTokenType().getValue();
+
+                if (!clientRefresher.isExpired(accessToken)) {
+                    return Mono.just(String.format("%s %s", tokenType, accessToken.getTokenValue()));
+                }
+
+                log.info("AccessToken expired, refreshing automatically");
+                return clientRefresher.refresh(client, oauthToken)
+                    .switchIfEmpty(Mono.error(ReactiveAuthorizationHeaderUtil::tokenExpired))
+                    .map(refreshedToken -> String.format("%s %s", tokenType, refreshedToken.getTokenValue()));
+            });
+    }
+
+    private static OAuth2AuthorizationException tokenExpired() {
+        return new OAuth2AuthorizationException(new OAuth2Error("access_denied", "The token is expired", null));
+    }
+}
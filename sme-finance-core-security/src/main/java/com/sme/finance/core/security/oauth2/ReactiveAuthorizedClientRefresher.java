@@ -0,0 +1,179 @@
+package com.sme.finance.core.security.oauth2;
+
+import com.sme.finance.core.security.metrics.SecurityMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AccessTokenResponse;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Non-blocking counterpart of {@link AuthorizedClientRefresher}, calling the IdP through a {@link WebClient}.
+ * <p>
+ * Refreshes are deduplicated per registration and principal: concurrent subscribers share the single
+ * in-flight refresh and its outcome. A refresh first reloads the stored client and reuses its access token
+ * if a previous refresh already replaced the one the caller saw.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthorizedClientRefresher {
+
+    private static final Duration EXPIRY_WINDOW = Duration.ofMinutes(1L);
+
+    private final ObjectProvider<ReactiveOAuth2AuthorizedClientService> clientService;
+    private final SecurityMetrics metrics;
+    private final WebClient webClient;
+
+    private final ConcurrentMap<RefreshKey, Mono<OAuth2AccessToken>> refreshes = new ConcurrentHashMap<>();
+
+    public ReactiveAuthorizedClientRefresher(
+        ObjectProvider<ReactiveOAuth2AuthorizedClientService> clientService,
+        ObjectProvider<WebClient.Builder> webClientBuilder,
+        SecurityMetrics metrics
+    ) {
+        this.clientService = clientService;
+        this.metrics = metrics;
+        this.webClient = webClientBuilder.getIfAvailable(WebClient::builder).build();
+    }
+
+    /**
+     * Refresh the access token of the given client and store the updated client.
+     *
+     * @param client    the client holding the expired access token.
+     * @param principal the principal the client is authorized for.
+     * @return the refreshed access token, or an empty Mono if the IdP did not return one.
+     */
+    public Mono<OAuth2AccessToken> refresh(OAuth2AuthorizedClient client, Authentication principal) {
+        final RefreshKey key = new RefreshKey(client.getClientRegistration().getRegistrationId(), client.getPrincipalName());
+
+        return Mono.defer(() -> refreshes.computeIfAbsent(key, k -> flight(k, client, principal)));
+    }
+
+    /**
+     * Check if the access token is expired or about to expire.
+     *
+     * @param accessToken the access token to check.
+     * @return true if the token expires within the refresh window, false otherwise.
+     */
+    public boolean isExpired(final OAuth2AccessToken accessToken) {
+        final Instant expiresAt = requireNonNull(accessToken.getExpiresAt());
+
+        return Instant.now().isAfter(expiresAt.minus(EXPIRY_WINDOW));
+    }
+
+    private Mono<OAuth2AccessToken> flight(RefreshKey key, OAuth2AuthorizedClient client, Authentication principal) {
+        final AtomicReference<Mono<OAuth2AccessToken>> flight = new AtomicReference<>();
+        final Mono<OAuth2AccessToken> shared = refreshIfNotRefreshedYet(key, client, principal)
+            // Only remove this flight, a newer one may already be registered for the key
+            .doFinally(signal -> refreshes.remove(key, flight.get()))
+            .cache();
+        flight.set(shared);
+
+        return shared;
+    }
+
+    private Mono<OAuth2AccessToken> refreshIfNotRefreshedYet(RefreshKey key, OAuth2AuthorizedClient client, Authentication principal) {
+        // A previous flight may have completed between the caller loading the client and starting this one
+        final ReactiveOAuth2AuthorizedClientService service = clientService.getIfAvailable();
+        final Mono<OAuth2AuthorizedClient> loaded = service != null
+            ? service.loadAuthorizedClient(key.registrationId(), key.principalName())
+            : Mono.empty();
+
+        return loaded
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .flatMap(current -> {
+                if (current.isPresent() && AuthorizedClientRefresher.isReplaced(client.getAccessToken(), current.get().getAccessToken())) {
+                    return Mono.just(current.get().getAccessToken());
+                }
+                return refreshToken(current.orElse(client), principal);
+            });
+    }
+
+    private Mono<OAuth2AccessToken> refreshToken(OAuth2AuthorizedClient client, Authentication principal) {
+        return timedRefreshTokenClient(client)
+            .flatMap(atr -> {
+                if (atr.getAccessToken() == null) {
+                    log.info("Failed to refresh token for user");
+                    return Mono.empty();
+                }
+
+                final OAuth2RefreshToken refreshToken = atr.getRefreshToken() != null ? atr.getRefreshToken() : client.getRefreshToken();
+                final OAuth2AuthorizedClient updatedClient = new OAuth2AuthorizedClient(
+                    client.getClientRegistration(),
+                    client.getPrincipalName(),
+                    atr.getAccessToken(),
+                    refreshToken
+                );
+
+                final ReactiveOAuth2AuthorizedClientService service = clientService.getIfAvailable();
+                final Mono<Void> saved = service != null ? service.saveAuthorizedClient(updatedClient, principal) : Mono.empty();
+
+                return saved.thenReturn(atr.getAccessToken());
+            });
+    }
+
+    private Mono<OAuth2AccessTokenResponse> timedRefreshTokenClient(OAuth2AuthorizedClient client) {
+        return Mono.defer(() -> {
+            final long start = System.nanoTime();
+
+            return refreshTokenClient(client)
+                .doOnSuccess(atr -> metrics.tokenRequested(
+                    AuthorizationGrantType.REFRESH_TOKEN, System.nanoTime() - start, atr != null && atr.getAccessToken() != null))
+                .doOnError(e -> metrics.tokenRequested(AuthorizationGrantType.REFRESH_TOKEN, System.nanoTime() - start, false));
+        });
+    }
+
+    private Mono<OAuth2AccessTokenResponse> refreshTokenClient(OAuth2AuthorizedClient currentClient) {
+        final ClientRegistration registration = currentClient.getClientRegistration();
+
+        final MultiValueMap<String, String> formParameters = new LinkedMultiValueMap<>();
+        formParameters.add(OAuth2ParameterNames.GRANT_TYPE, AuthorizationGrantType.REFRESH_TOKEN.getValue());
+        formParameters.add(OAuth2ParameterNames.REFRESH_TOKEN, requireNonNull(currentClient.getRefreshToken()).getTokenValue());
+        formParameters.add(OAuth2ParameterNames.CLIENT_ID, registration.getClientId());
+
+        return webClient.post()
+            .uri(registration.getProviderDetails().getTokenUri())
+            .headers(headers -> headers.setBasicAuth(registration.getClientId(), registration.getClientSecret()))
+            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+            .body(BodyInserters.fromFormData(formParameters))
+            .retrieve()
+            .bodyToMono(OAuthIdpTokenResponseDTO.class)
+            .map(OAuthIdpTokenResponseMapper::toOAuth2AccessTokenResponse)
+            .onErrorMap(WebClientResponseException.class, e -> {
+                log.error("Unable to refresh token", e);
+                return new OAuth2AuthenticationException(new OAuth2Error(OAuth2ErrorCodes.INVALID_GRANT, e.getStatusText(), null), e);
+            });
+    }
+
+    private record RefreshKey(String registrationId, String principalName) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.sme.finance.core.security.oauth2;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent executions per key.
+ * <p>
+ * The first caller for a key runs the task; every caller arriving while it is in flight waits for
+ * and shares the same outcome, including a failure.
+ *
+ * @param <K> the key type.
+ * @param <V> the result type.
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    V execute(K key, Supplier<V> task) {
+        final CompletableFuture<V> candidate = new CompletableFuture<>();
+        final CompletableFuture<V> existing = inFlight.putIfAbsent(key, candidate);
+
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        executions.increment();
+        try {
+            candidate.complete(task.get());
+        } catch (RuntimeException | Error e) {
+            candidate.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, candidate);
+        }
+
+        return await(candidate);
+    }
+
+    long executions() {
+        return executions.sum();
+    }
+
+    long coalesced() {
+        return coalesced.sum();
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.sme.finance.core.security.oauth2;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.FormHttpMessageConverter;
+import org.springframework.security.oauth2.client.http.OAuth2ErrorResponseErrorHandler;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.http.converter.OAuth2AccessTokenResponseHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pre-built {@link RestTemplate}s for calls to IdP token endpoints, one per {@link ClientRegistration}.
+ * <p>
+ * All templates share a pooled keep-alive HTTP client, so connections and TLS sessions to the IdP are reused
+ * across refreshes instead of being opened for every call.
+ */
+@Component
+public class TokenEndpointRestTemplates implements DisposableBean {
+
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final CloseableHttpClient httpClient;
+
+    private final ConcurrentMap<String, RestTemplate> restTemplates = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("java:S107") // Constructor has too many parameters
+    public TokenEndpointRestTemplates(
+        RestTemplateBuilder restTemplateBuilder,
+        @Value("${sme.security.oauth2.token-endpoint.connect-timeout:PT5S}") Duration connectTimeout,
+        @Value("${sme.security.oauth2.token-endpoint.read-timeout:PT10S}") Duration readTimeout,
+        @Value("${sme.security.oauth2.token-endpoint.connection-request-timeout:PT5S}") Duration connectionRequestTimeout,
+        @Value("${sme.security.oauth2.token-endpoint.idle-timeout:PT30S}") Duration idleTimeout,
+        @Value("${sme.security.oauth2.token-endpoint.max-connections:50}") int maxConnections,
+        @Value("${sme.security.oauth2.token-endpoint.max-connections-per-route:20}") int maxConnectionsPerRoute
+    ) {
+        final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+
+        final RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectTimeout((int) connectTimeout.toMillis())
+            .setSocketTimeout((int) readTimeout.toMillis())
+            .setConnectionRequestTimeout((int) connectionRequestTimeout.toMillis())
+            .build();
+
+        this.httpClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .evictExpiredConnections()
+            .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .build();
+
+        this.restTemplateBuilder = restTemplateBuilder
+            .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+            .additionalMessageConverters(new FormHttpMessageConverter(), new OAuth2AccessTokenResponseHttpMessageConverter())
+            .errorHandler(new OAuth2ErrorResponseErrorHandler());
+    }
+
+    /**
+     * Get the rest template authenticating with the credentials of the given registration.
+     *
+     * @param registration the client registration.
+     * @return the rest template for the registration's token endpoint.
+     */
+    public RestTemplate forRegistration(ClientRegistration registration) {
+        return restTemplates.computeIfAbsent(
+            registration.getRegistrationId(),
+            registrationId -> restTemplateBuilder
+                .basicAuthentication(registration.getClientId(), registration.getClientSecret())
+                .build()
+        );
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        restTemplates.clear();
+        httpClient.close();
+    }
+}